@@ -1,14 +1,30 @@
 package com.jobtracking.config;
 
+import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
 
 @Configuration
 public class HttpClientConfig {
 
+    // One pooled client for all outbound REST calls: keeps connections alive and negotiates HTTP/2
+    @Bean
+    public HttpClient outboundHttpClient(@Value("${http.client.connect-timeout-ms:5000}") long connectTimeoutMs) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    // Shared by all Google API clients; loading the trust store once avoids per-call TLS setup
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public NetHttpTransport googleHttpTransport() throws Exception {
+        return GoogleNetHttpTransport.newTrustedTransport();
     }
 }
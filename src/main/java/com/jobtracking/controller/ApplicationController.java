@@ -9,6 +9,7 @@ import com.jobtracking.repository.ApplicationRepository;
 import com.jobtracking.repository.ReminderRepository;
 import com.jobtracking.repository.UserRepository;
 import com.jobtracking.service.ApplicationAutoReminderService;
+import com.jobtracking.service.DashboardSummaryService;
 import com.jobtracking.service.GoogleCalendarService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -30,17 +31,20 @@ public class ApplicationController {
     private final GoogleCalendarService googleCalendarService;
     private final UserRepository userRepository;
     private final ApplicationAutoReminderService autoReminderService;
+    private final DashboardSummaryService dashboardSummaryService;
 
     public ApplicationController(ApplicationRepository applicationRepository,
                                  ReminderRepository reminderRepository,
                                  GoogleCalendarService googleCalendarService,
                                  UserRepository userRepository,
-                                 ApplicationAutoReminderService autoReminderService) {
+                                 ApplicationAutoReminderService autoReminderService,
+                                 DashboardSummaryService dashboardSummaryService) {
         this.applicationRepository = applicationRepository;
         this.reminderRepository = reminderRepository;
         this.googleCalendarService = googleCalendarService;
         this.userRepository = userRepository;
         this.autoReminderService = autoReminderService;
+        this.dashboardSummaryService = dashboardSummaryService;
     }
 
     /**
@@ -109,21 +113,7 @@ public class ApplicationController {
     @GetMapping("/dashboard-summary")
     public java.util.Map<String, Object> getDashboardSummary() {
         User currentUser = getCurrentUser();
-        List<Application> apps = applicationRepository.findByUser_Id(currentUser.getId());
-
-        java.util.Map<String, Object> summary = new java.util.HashMap<>();
-        summary.put("totalApplications", apps.size());
-
-        // Count by status
-        java.util.Map<String, Long> byStatus = apps.stream()
-                .filter(a -> a.getStatus() != null)
-                .collect(java.util.stream.Collectors.groupingBy(
-                        Application::getStatus,
-                        java.util.stream.Collectors.counting()
-                ));
-        summary.put("byStatus", byStatus);
-
-        return summary;
+        return dashboardSummaryService.summarize(currentUser.getId());
     }
 
     @PostMapping("/apps")
@@ -137,6 +127,9 @@ public class ApplicationController {
         if (application.getStatus() == null) {
             application.setStatus("DRAFT");
         }
+        if (application.getSource() == null) {
+            application.setSource("MANUAL");
+        }
 
         // Save application first
         Application savedApplication = applicationRepository.save(application);
@@ -230,7 +223,7 @@ public class ApplicationController {
                 .map(app -> {
                     try {
                         // Remove associated reminders
-                        autoReminderService.removeRemindersForApplication(id);
+                        autoReminderService.removeRemindersForApplication(id, currentUser);
                     } catch (Exception e) {
                         System.err.println("Failed to remove reminders: " + e.getMessage());
                         e.printStackTrace();
@@ -1,7 +1,11 @@
 package com.jobtracking.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jobtracking.dto.JobDto;
 import com.jobtracking.dto.JobRecommendationRequest;
+import com.jobtracking.dto.JobSummaryDto;
+import com.jobtracking.dto.JobUpsertResult;
 import com.jobtracking.model.Application;
 import com.jobtracking.model.Job;
 import com.jobtracking.model.User;
@@ -10,42 +14,55 @@ import com.jobtracking.repository.ApplicationRepository;
 import com.jobtracking.repository.JobRepository;
 import com.jobtracking.repository.UserAppliedJobRepository;
 import com.jobtracking.repository.UserRepository;
+import com.jobtracking.service.AppliedJobExclusionCache;
 import com.jobtracking.service.JobRecommendationService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.HashSet;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/jobs")
 @CrossOrigin(origins = "*")
 public class JobController {
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final JobRecommendationService recommendationService;
     private final UserRepository userRepository;
     private final UserAppliedJobRepository userAppliedJobRepository;
     private final JobRepository jobRepository;
     private final ApplicationRepository applicationRepository;
+    private final AppliedJobExclusionCache appliedJobExclusionCache;
+    private final ObjectMapper objectMapper;
 
     public JobController(JobRecommendationService recommendationService,
                          UserRepository userRepository,
                          UserAppliedJobRepository userAppliedJobRepository,
                          JobRepository jobRepository,
-                         ApplicationRepository applicationRepository) {
+                         ApplicationRepository applicationRepository,
+                         AppliedJobExclusionCache appliedJobExclusionCache,
+                         ObjectMapper objectMapper) {
         this.recommendationService = recommendationService;
         this.userRepository = userRepository;
         this.userAppliedJobRepository = userAppliedJobRepository;
         this.jobRepository = jobRepository;
         this.applicationRepository = applicationRepository;
+        this.appliedJobExclusionCache = appliedJobExclusionCache;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -63,30 +80,61 @@ public class JobController {
                 .orElseThrow(() -> new RuntimeException("User not found: " + principal));
     }
 
-    // Fetch all jobs (from DB), excluding jobs the user has already applied to
+    // Fetch one page of jobs (from DB), excluding jobs the user has already applied to
+    // Example: GET /api/jobs?limit=100&q=backend&cursor=<X-Next-Cursor from the previous page>
+    // q filters by company or title; pass the same q with the cursor for later pages
+    // The body is a JSON array streamed straight to the response; the description column is not included
     @GetMapping
-    public List<Map<String, Object>> getJobs() {
+    public ResponseEntity<StreamingResponseBody> getJobs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String q) {
         User currentUser = getCurrentUser();
-        List<Job> jobs = recommendationService.getAllJobs();
-
-        // Get job IDs that the user has already applied to
-        Set<UUID> appliedJobIds = new HashSet<>(
-                userAppliedJobRepository.findJobIdsByUserId(currentUser.getId())
-        );
-
-        // Filter out jobs that the user has already applied to
-        return jobs.stream()
-                .filter(job -> !appliedJobIds.contains(job.getId()))
-                .map(this::convertToMap)
-                .collect(Collectors.toList());
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        LocalDateTime afterCreatedAt = null;
+        UUID afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+                afterCreatedAt = LocalDateTime.parse(parts[0]);
+                afterId = UUID.fromString(parts[1]);
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        List<JobSummaryDto> page = recommendationService.getJobPage(
+                currentUser.getId(), afterCreatedAt, afterId, pageSize, q);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (page.size() == pageSize) {
+            JobSummaryDto last = page.get(page.size() - 1);
+            String next = last.getCreatedAt() + "|" + last.getId();
+            response.header("X-Next-Cursor",
+                    Base64.getUrlEncoder().withoutPadding().encodeToString(next.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        return response.body(out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartArray();
+                for (JobSummaryDto job : page) {
+                    writeJob(json, job);
+                }
+                json.writeEndArray();
+            }
+        });
     }
 
     /**
      * GET /api/recommendations - Returns list of jobs (alias for /api/jobs for frontend compatibility)
      */
     @GetMapping("/recommendations")
-    public List<Map<String, Object>> getRecommendations() {
-        return getJobs();
+    public ResponseEntity<StreamingResponseBody> getRecommendations(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String q) {
+        return getJobs(cursor, limit, q);
     }
 
     // Trigger Adzuna fetch
@@ -96,8 +144,8 @@ public class JobController {
             @RequestParam(defaultValue = "software engineer") String query,
             @RequestParam(defaultValue = "United States") String location) {
 
-        int count = recommendationService.refreshJobs(query, location);
-        return ResponseEntity.ok("Fetched and saved " + count + " jobs");
+        JobUpsertResult result = recommendationService.refreshJobs(query, location);
+        return ResponseEntity.ok("Fetched " + result.getTotal() + " jobs: " + result);
     }
 
     // Get recommendations, excluding jobs the user has already applied to
@@ -110,19 +158,11 @@ public class JobController {
 
         User currentUser = getCurrentUser();
 
-        // Get job IDs that the user has already applied to
-        Set<UUID> appliedJobIds = new HashSet<>(
-                userAppliedJobRepository.findJobIdsByUserId(currentUser.getId())
-        );
-
-        List<JobDto> results = recommendationService.recommendJobs(request.getSkills(), limit);
-
-        // Filter out jobs that the user has already applied to
-        List<JobDto> filteredResults = results.stream()
-                .filter(job -> !appliedJobIds.contains(job.getId()))
-                .collect(Collectors.toList());
+        // Applied jobs are skipped inside the ranking pass, so the page stays full
+        List<JobDto> results = recommendationService.recommendJobs(
+                request.getSkills(), limit, currentUser.getId());
 
-        return ResponseEntity.ok(filteredResults);
+        return ResponseEntity.ok(results);
     }
 
     /**
@@ -162,6 +202,7 @@ public class JobController {
         application.setNotes("[Applied from job recommendation]\n" +
                 (job.getDescription() != null ? job.getDescription() : ""));
         application.setStatus("APPLIED");
+        application.setSource("RECOMMENDATION");
         application.setCreatedAt(LocalDate.now());
         application.setAppliedAt(LocalDate.now());
 
@@ -170,6 +211,7 @@ public class JobController {
         // Track that this user has applied to this job
         UserAppliedJob userAppliedJob = new UserAppliedJob(currentUser, job);
         userAppliedJobRepository.save(userAppliedJob);
+        appliedJobExclusionCache.recordApplied(currentUser.getId(), jobId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -179,17 +221,16 @@ public class JobController {
         return ResponseEntity.ok(response);
     }
 
-    private Map<String, Object> convertToMap(Job job) {
-        Map<String, Object> map = new HashMap<>();
-        map.put("id", job.getId());
-        map.put("title", job.getTitle());
-        map.put("company", job.getCompany());
-        map.put("salary", job.getSalary());
-        // job_type is not in Adzuna model currently, defaulting to empty or "Full-time" if you want
-        map.put("job_type", "Full-time");
-        map.put("location", job.getLocation());
-        map.put("description", job.getDescription());
-        map.put("job_link", job.getExternalUrl());
-        return map;
+    private void writeJob(JsonGenerator json, JobSummaryDto job) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("id", job.getId() != null ? job.getId().toString() : null);
+        json.writeStringField("title", job.getTitle());
+        json.writeStringField("company", job.getCompany());
+        json.writeStringField("salary", job.getSalary());
+        // job_type is not in Adzuna model currently, defaulting to "Full-time"
+        json.writeStringField("job_type", "Full-time");
+        json.writeStringField("location", job.getLocation());
+        json.writeStringField("job_link", job.getExternalUrl());
+        json.writeEndObject();
     }
-}
\ No newline at end of file
+}
@@ -6,11 +6,13 @@ import com.jobtracking.model.Reminder;
 import com.jobtracking.model.User;
 import com.jobtracking.repository.ReminderRepository;
 import com.jobtracking.repository.UserRepository;
+import com.jobtracking.service.CalendarSyncOutbox;
 import com.jobtracking.service.GoogleCalendarService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
@@ -26,13 +28,16 @@ public class ReminderController {
 
     private final ReminderRepository reminderRepository;
     private final GoogleCalendarService googleCalendarService;
+    private final CalendarSyncOutbox calendarSyncOutbox;
     private final UserRepository userRepository;
 
     public ReminderController(ReminderRepository reminderRepository,
                               GoogleCalendarService googleCalendarService,
+                              CalendarSyncOutbox calendarSyncOutbox,
                               UserRepository userRepository) {
         this.reminderRepository = reminderRepository;
         this.googleCalendarService = googleCalendarService;
+        this.calendarSyncOutbox = calendarSyncOutbox;
         this.userRepository = userRepository;
     }
 
@@ -86,6 +91,7 @@ public class ReminderController {
     }
 
     @PostMapping
+    @Transactional
     public Reminder createReminder(@RequestBody Reminder reminder) {
         User currentUser = getCurrentUser();
         reminder.setUser(currentUser);
@@ -97,63 +103,9 @@ public class ReminderController {
         // Validate interview times
         validateInterviewTimes(reminder);
 
-        // Save reminder first
+        // Google Calendar/Tasks sync is queued in the same transaction and applied in the background
         Reminder savedReminder = reminderRepository.save(reminder);
-
-        // Auto-sync to Google Calendar if enabled
-        if (currentUser.isGoogleCalendarEnabled() && currentUser.getGoogleAccessToken() != null) {
-            try {
-                String googleCalendarEventId = googleCalendarService.createCalendarEvent(
-                        savedReminder,
-                        currentUser.getGoogleAccessToken(),
-                        currentUser.getTimezone()
-                );
-
-                // Only store calendar event ID if one was created (FOLLOWUP reminders return null)
-                if (googleCalendarEventId != null) {
-                    savedReminder.setGoogleCalendarEventId(googleCalendarEventId);
-                    System.out.println("[Google Calendar] ✓ Auto-synced reminder to Google Calendar: " + googleCalendarEventId);
-                }
-
-                // Create a Google Task ONLY for FOLLOWUP events (not DEADLINE)
-                System.out.println("[Google Tasks] Checking if should create task...");
-                System.out.println("[Google Tasks] - Kind: " + savedReminder.getKind());
-                System.out.println("[Google Tasks] - isGoogleTasksEnabled: " + currentUser.isGoogleTasksEnabled());
-                System.out.println("[Google Tasks] - Has token: " + (currentUser.getGoogleAccessToken() != null));
-
-                if ("FOLLOWUP".equals(savedReminder.getKind()) && currentUser.isGoogleTasksEnabled()) {
-                    System.out.println("[Google Tasks] ✓ Conditions met - creating task...");
-                    try {
-                        String googleTaskId = googleCalendarService.createGoogleTask(
-                                savedReminder,
-                                currentUser.getGoogleAccessToken()
-                        );
-                        savedReminder.setGoogleTaskId(googleTaskId);
-                        System.out.println("[Google Tasks] ✓ Auto-synced followup to Google Tasks: " + googleTaskId);
-                    } catch (Exception e) {
-                        System.err.println("[Google Tasks] ✗ Failed to create Google Task: " + e.getMessage());
-                        e.printStackTrace();
-                        // Don't fail the request - reminder is still created locally
-                    }
-                } else {
-                    System.out.println("[Google Tasks] ⊘ Skipping task creation - conditions not met");
-                    if (!"FOLLOWUP".equals(savedReminder.getKind())) {
-                        System.out.println("[Google Tasks]   - Kind is not FOLLOWUP (it's: " + savedReminder.getKind() + ")");
-                    }
-                    if (!currentUser.isGoogleTasksEnabled()) {
-                        System.out.println("[Google Tasks]   - Google Tasks not enabled for user");
-                    }
-                }
-
-                savedReminder = reminderRepository.save(savedReminder);
-            } catch (Exception e) {
-                System.err.println("[Google Calendar] ✗ Failed to sync reminder to Google Calendar: " + e.getMessage());
-                e.printStackTrace();
-                // Don't fail the request - reminder is still created locally
-            }
-        } else if (!currentUser.isGoogleCalendarEnabled()) {
-            System.out.println("[Google Calendar] ⚠ Google integration not enabled for user: " + currentUser.getEmail());
-        }
+        calendarSyncOutbox.enqueueUpsert(savedReminder, currentUser);
 
         return savedReminder;
     }
@@ -166,6 +118,7 @@ public class ReminderController {
     }
 
     @PutMapping("/{id}")
+    @Transactional
     public ResponseEntity<Reminder> updateReminder(@PathVariable UUID id, @RequestBody Reminder details) {
         return reminderRepository.findById(id)
                 .map(reminder -> {
@@ -192,45 +145,7 @@ public class ReminderController {
                     validateInterviewTimes(reminder);
 
                     Reminder updatedReminder = reminderRepository.save(reminder);
-
-                    // Auto-sync update to Google Calendar if enabled and event ID exists
-                    if (currentUser.isGoogleCalendarEnabled() &&
-                            currentUser.getGoogleAccessToken() != null &&
-                            updatedReminder.getGoogleCalendarEventId() != null) {
-                        try {
-                            googleCalendarService.updateCalendarEvent(
-                                    updatedReminder.getGoogleCalendarEventId(),
-                                    updatedReminder,
-                                    currentUser.getGoogleAccessToken(),
-                                    currentUser.getTimezone()
-                            );
-                            System.out.println("[Google Calendar] ✓ Auto-synced reminder update to Google Calendar: " + updatedReminder.getGoogleCalendarEventId());
-                        } catch (Exception e) {
-                            System.err.println("[Google Calendar] ✗ Failed to sync reminder update to Google Calendar: " + e.getMessage());
-                            e.printStackTrace();
-                            // Don't fail the request - reminder is still updated locally
-                        }
-                    }
-
-                    // Auto-sync update to Google Task if enabled and task ID exists
-                    // Only for FOLLOWUP reminders
-                    if (currentUser.isGoogleTasksEnabled() &&
-                            currentUser.getGoogleAccessToken() != null &&
-                            updatedReminder.getGoogleTaskId() != null &&
-                            "FOLLOWUP".equals(updatedReminder.getKind())) {
-                        try {
-                            googleCalendarService.updateGoogleTask(
-                                    updatedReminder.getGoogleTaskId(),
-                                    updatedReminder,
-                                    currentUser.getGoogleAccessToken()
-                            );
-                            System.out.println("[Google Tasks] ✓ Auto-synced followup update to Google Tasks: " + updatedReminder.getGoogleTaskId());
-                        } catch (Exception e) {
-                            System.err.println("[Google Tasks] ✗ Failed to sync followup update to Google Tasks: " + e.getMessage());
-                            e.printStackTrace();
-                            // Don't fail the request - reminder is still updated locally
-                        }
-                    }
+                    calendarSyncOutbox.enqueueUpsert(updatedReminder, currentUser);
 
                     return ResponseEntity.ok(updatedReminder);
                 })
@@ -238,46 +153,14 @@ public class ReminderController {
     }
 
     @DeleteMapping("/{id}")
+    @Transactional
     public ResponseEntity<?> deleteReminder(@PathVariable UUID id) {
         return reminderRepository.findById(id)
                 .map(reminder -> {
                     User currentUser = getCurrentUser();
 
-                    // Auto-sync deletion to Google Calendar if enabled and event ID exists
-                    if (currentUser.isGoogleCalendarEnabled() &&
-                            currentUser.getGoogleAccessToken() != null &&
-                            reminder.getGoogleCalendarEventId() != null) {
-                        try {
-                            googleCalendarService.deleteCalendarEvent(
-                                    reminder.getGoogleCalendarEventId(),
-                                    currentUser.getGoogleAccessToken()
-                            );
-                            System.out.println("[Google Calendar] ✓ Auto-synced reminder deletion to Google Calendar: " + reminder.getGoogleCalendarEventId());
-                        } catch (Exception e) {
-                            System.err.println("[Google Calendar] ✗ Failed to sync reminder deletion to Google Calendar: " + e.getMessage());
-                            e.printStackTrace();
-                            // Don't fail the request - reminder is still deleted locally
-                        }
-                    }
-
-                    // Auto-sync deletion to Google Task if enabled and task ID exists
-                    // Only for FOLLOWUP reminders
-                    if (currentUser.isGoogleTasksEnabled() &&
-                            currentUser.getGoogleAccessToken() != null &&
-                            reminder.getGoogleTaskId() != null &&
-                            "FOLLOWUP".equals(reminder.getKind())) {
-                        try {
-                            googleCalendarService.deleteGoogleTask(
-                                    reminder.getGoogleTaskId(),
-                                    currentUser.getGoogleAccessToken()
-                            );
-                            System.out.println("[Google Tasks] ✓ Auto-synced followup deletion to Google Tasks: " + reminder.getGoogleTaskId());
-                        } catch (Exception e) {
-                            System.err.println("[Google Tasks] ✗ Failed to sync followup deletion to Google Tasks: " + e.getMessage());
-                            e.printStackTrace();
-                            // Don't fail the request - reminder is still deleted locally
-                        }
-                    }
+                    // Queue removal of the Google event/task before the reminder row goes away
+                    calendarSyncOutbox.enqueueDelete(reminder, currentUser);
 
                     reminderRepository.delete(reminder);
                     return ResponseEntity.ok().build();
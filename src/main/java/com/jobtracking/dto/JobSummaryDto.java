@@ -0,0 +1,66 @@
+package com.jobtracking.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lightweight job projection for listing pages.
+ * Omits the description TEXT column so list queries never read it.
+ */
+public class JobSummaryDto {
+
+    private UUID id;
+    private String title;
+    private String company;
+    private String salary;
+    private String location;
+    private String externalUrl;
+    private LocalDateTime createdAt;
+
+    public JobSummaryDto() {
+    }
+
+    public JobSummaryDto(UUID id,
+                         String title,
+                         String company,
+                         String salary,
+                         String location,
+                         String externalUrl,
+                         LocalDateTime createdAt) {
+        this.id = id;
+        this.title = title;
+        this.company = company;
+        this.salary = salary;
+        this.location = location;
+        this.externalUrl = externalUrl;
+        this.createdAt = createdAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getCompany() {
+        return company;
+    }
+
+    public String getSalary() {
+        return salary;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getExternalUrl() {
+        return externalUrl;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,67 @@
+package com.jobtracking.dto;
+
+import com.jobtracking.model.Job;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a batched job upsert.
+ * Changed jobs (inserted or updated) carry their database IDs so callers can re-index them.
+ */
+public class JobUpsertResult {
+
+    private int inserted;
+    private int updated;
+    private int unchanged;
+    private final List<Job> changedJobs = new ArrayList<>();
+
+    public void recordInserted(Job job) {
+        inserted++;
+        changedJobs.add(job);
+    }
+
+    public void recordUpdated(Job job) {
+        updated++;
+        changedJobs.add(job);
+    }
+
+    public void recordUnchanged() {
+        unchanged++;
+    }
+
+    /**
+     * Add another result's counts. Its changed jobs are not copied, so a running total over many
+     * batches does not keep every changed Job alive.
+     */
+    public void addCounts(JobUpsertResult other) {
+        inserted += other.inserted;
+        updated += other.updated;
+        unchanged += other.unchanged;
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public int getUnchanged() {
+        return unchanged;
+    }
+
+    public int getTotal() {
+        return inserted + updated + unchanged;
+    }
+
+    public List<Job> getChangedJobs() {
+        return changedJobs;
+    }
+
+    @Override
+    public String toString() {
+        return inserted + " inserted, " + updated + " updated, " + unchanged + " unchanged";
+    }
+}
@@ -4,14 +4,29 @@ import jakarta.persistence.*;
 import org.hibernate.annotations.GenericGenerator;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.text.Normalizer;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.regex.Pattern;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 @Entity
-@Table(name = "applications")
+@Table(name = "applications", indexes = {
+    // Email-to-application matching: one index probe per (user, company[, title])
+    @Index(name = "idx_applications_user_company_title_norm", columnList = "user_id, company_normalized, title_normalized"),
+    // Dashboard aggregates: covers every column the per-user GROUP BY reads
+    @Index(name = "idx_applications_user_status_created", columnList = "user_id, status, created_at, source")
+})
 public class Application {
 
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{M}\\p{N}]+");
+    // Accents only; marks that are part of other scripts (kana voicing, Indic vowel signs) are kept
+    private static final Pattern COMBINING_DIACRITICS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+    // Legal-form suffixes dropped from company names ("Acme, Inc." == "ACME")
+    private static final Pattern COMPANY_SUFFIX = Pattern.compile(
+            "( (inc|incorporated|llc|llp|ltd|limited|corp|corporation|co|company|gmbh|plc|ag|sa))+$");
+
     @Id
     @GeneratedValue(generator = "UUID")
     @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
@@ -32,7 +47,18 @@ public class Application {
 
     private String company;
     private String title;
+
+    // Match keys derived from company/title on every insert/update - see normalizeCompany/normalizeTitle
+    @Column(name = "company_normalized")
+    @JsonIgnore
+    private String companyNormalized;
+
+    @Column(name = "title_normalized")
+    @JsonIgnore
+    private String titleNormalized;
     private String status; // DRAFT, APPLIED, INTERVIEW, OFFER, REJECTED
+
+    private String source; // EMAIL, RECOMMENDATION, MANUAL
     
     @Column(name = "deadline_at")
     private LocalDate deadlineAt;
@@ -74,6 +100,10 @@ public class Application {
     public String getTitle() { return title; }
     public void setTitle(String title) { this.title = title; }
 
+    public String getCompanyNormalized() { return companyNormalized; }
+
+    public String getTitleNormalized() { return titleNormalized; }
+
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
 
@@ -135,6 +165,9 @@ public class Application {
     public LocalDate getAppliedAt() { return appliedAt; }
     public void setAppliedAt(LocalDate appliedAt) { this.appliedAt = appliedAt; }
 
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+
     public String getNotes() { return notes; }
     public void setNotes(String notes) { this.notes = notes; }
 
@@ -147,5 +180,33 @@ public class Application {
     public void setJob(Job job) { this.job = job; }
     
     public UUID getJobId() { return job != null ? job.getId() : null; }
-}
 
+    @PrePersist
+    @PreUpdate
+    public void updateNormalizedNames() {
+        companyNormalized = normalizeCompany(company);
+        titleNormalized = normalizeTitle(title);
+    }
+
+    /**
+     * Lowercase, punctuation collapsed to single spaces, legal-form suffixes removed
+     */
+    public static String normalizeCompany(String company) {
+        String normalized = normalizeTitle(company);
+        return normalized == null ? null : COMPANY_SUFFIX.matcher(normalized).replaceFirst("");
+    }
+
+    /**
+     * Lowercase with accents stripped ("Société" == "Societe") and punctuation collapsed to
+     * single spaces. Letters and digits of every script are kept.
+     */
+    public static String normalizeTitle(String title) {
+        if (title == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(title, Normalizer.Form.NFKD);
+        String unaccented = Normalizer.normalize(
+                COMBINING_DIACRITICS.matcher(decomposed).replaceAll(""), Normalizer.Form.NFC);
+        return NON_ALPHANUMERIC.matcher(unaccented.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
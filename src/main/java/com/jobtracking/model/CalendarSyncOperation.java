@@ -0,0 +1,119 @@
+package com.jobtracking.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Outbox row for a pending Google Calendar/Tasks sync, written in the same transaction as the
+ * reminder change. The identity id gives a total order, so operations for one reminder are
+ * applied in the order they were written.
+ */
+@Entity
+@Table(name = "calendar_sync_outbox", indexes = {
+    @Index(name = "idx_calendar_sync_outbox_status_next", columnList = "status, next_attempt_at"),
+    @Index(name = "idx_calendar_sync_outbox_reminder", columnList = "reminder_id, status")
+})
+public class CalendarSyncOperation {
+
+    public static final String UPSERT = "UPSERT";
+    public static final String DELETE = "DELETE";
+
+    public static final String PENDING = "PENDING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "reminder_id", nullable = false, columnDefinition = "uuid")
+    private UUID reminderId;
+
+    @Column(name = "user_id", nullable = false, columnDefinition = "uuid")
+    private UUID userId;
+
+    @Column(nullable = false)
+    private String operation; // UPSERT, DELETE
+
+    // Snapshot for DELETE: the reminder row is gone by the time the dispatcher runs
+    private String kind;
+
+    @Column(name = "google_calendar_event_id")
+    private String googleCalendarEventId;
+
+    @Column(name = "google_task_id")
+    private String googleTaskId;
+
+    @Column(nullable = false)
+    private String status; // PENDING, DONE, FAILED
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    public CalendarSyncOperation() {}
+
+    public CalendarSyncOperation(String operation, Reminder reminder, UUID userId) {
+        this.operation = operation;
+        this.reminderId = reminder.getId();
+        this.userId = userId;
+        this.kind = reminder.getKind();
+        this.googleCalendarEventId = reminder.getGoogleCalendarEventId();
+        this.googleTaskId = reminder.getGoogleTaskId();
+        this.status = PENDING;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public UUID getReminderId() { return reminderId; }
+    public void setReminderId(UUID reminderId) { this.reminderId = reminderId; }
+
+    public UUID getUserId() { return userId; }
+    public void setUserId(UUID userId) { this.userId = userId; }
+
+    public String getOperation() { return operation; }
+    public void setOperation(String operation) { this.operation = operation; }
+
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+
+    public String getGoogleCalendarEventId() { return googleCalendarEventId; }
+    public void setGoogleCalendarEventId(String googleCalendarEventId) { this.googleCalendarEventId = googleCalendarEventId; }
+
+    public String getGoogleTaskId() { return googleTaskId; }
+    public void setGoogleTaskId(String googleTaskId) { this.googleTaskId = googleTaskId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getProcessedAt() { return processedAt; }
+    public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+}
@@ -0,0 +1,52 @@
+package com.jobtracking.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Tracks Google Calendar reconciliation state per user.
+ * The syncToken is Google's cursor for the user's primary calendar; events.list with it
+ * returns only events changed since the previous reconciliation.
+ */
+@Entity
+@Table(name = "calendar_sync_state")
+public class CalendarSyncState {
+
+    @Id
+    @GeneratedValue(generator = "UUID")
+    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @Column(name = "id", updatable = false, nullable = false, columnDefinition = "uuid")
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, unique = true)
+    private User user;
+
+    // Null until the first full sync, and again after Google expires the token (HTTP 410)
+    @Column(name = "sync_token", columnDefinition = "TEXT")
+    private String syncToken;
+
+    @Column(name = "last_reconciled_at")
+    private LocalDateTime lastReconciledAt;
+
+    public CalendarSyncState() {
+    }
+
+    public CalendarSyncState(User user) {
+        this.user = user;
+    }
+
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+
+    public String getSyncToken() { return syncToken; }
+    public void setSyncToken(String syncToken) { this.syncToken = syncToken; }
+
+    public LocalDateTime getLastReconciledAt() { return lastReconciledAt; }
+    public void setLastReconciledAt(LocalDateTime lastReconciledAt) { this.lastReconciledAt = lastReconciledAt; }
+}
@@ -2,11 +2,13 @@ package com.jobtracking.model;
 
 import jakarta.persistence.*;
 import org.hibernate.annotations.GenericGenerator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * Tracks email sync state per user.
- * Each user has their own lastProcessedInternalDate for their Gmail account.
+ * Each user has their own lastProcessedInternalDate and Gmail historyId for their Gmail account.
  */
 @Entity
 @Table(name = "email_sync_state")
@@ -25,6 +27,15 @@ public class EmailSyncState {
     // we'll store the last Gmail internalDate we processed for this user
     private Long lastProcessedInternalDate;
 
+    // Gmail mailbox historyId at the last sync; deltas are read from here with users.history.list
+    @Column(name = "history_id")
+    private Long historyId;
+
+    // Messages a scan could not fetch or process, as "messageId:attempts,...". The history cursor
+    // moves past them, so the next scan adds them to its candidates explicitly
+    @Column(name = "retry_message_ids", columnDefinition = "TEXT")
+    private String retryMessageIds;
+
     public EmailSyncState() {
     }
 
@@ -56,4 +67,48 @@ public class EmailSyncState {
     public void setLastProcessedInternalDate(Long lastProcessedInternalDate) {
         this.lastProcessedInternalDate = lastProcessedInternalDate;
     }
-}
\ No newline at end of file
+
+    public Long getHistoryId() {
+        return historyId;
+    }
+
+    public void setHistoryId(Long historyId) {
+        this.historyId = historyId;
+    }
+
+    public String getRetryMessageIds() {
+        return retryMessageIds;
+    }
+
+    public void setRetryMessageIds(String retryMessageIds) {
+        this.retryMessageIds = retryMessageIds;
+    }
+
+    /**
+     * Message IDs awaiting retry, with the number of failed attempts so far
+     */
+    public Map<String, Integer> getRetryAttempts() {
+        Map<String, Integer> attempts = new LinkedHashMap<>();
+        if (retryMessageIds == null || retryMessageIds.isEmpty()) {
+            return attempts;
+        }
+        for (String entry : retryMessageIds.split(",")) {
+            int colon = entry.lastIndexOf(':');
+            if (colon > 0) {
+                attempts.put(entry.substring(0, colon), Integer.parseInt(entry.substring(colon + 1)));
+            }
+        }
+        return attempts;
+    }
+
+    public void setRetryAttempts(Map<String, Integer> attempts) {
+        StringBuilder encoded = new StringBuilder();
+        attempts.forEach((messageId, count) -> {
+            if (encoded.length() > 0) {
+                encoded.append(',');
+            }
+            encoded.append(messageId).append(':').append(count);
+        });
+        this.retryMessageIds = encoded.length() > 0 ? encoded.toString() : null;
+    }
+}
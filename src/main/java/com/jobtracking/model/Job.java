@@ -2,10 +2,16 @@ package com.jobtracking.model;
 
 import jakarta.persistence.*;
 import org.hibernate.annotations.GenericGenerator;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "jobs")
+@Table(name = "jobs", indexes = {
+    // Keyset pagination for GET /api/jobs
+    @Index(name = "idx_jobs_created_at_id", columnList = "created_at, id"),
+    // Bulk soft-expiry of postings no longer returned by the feed
+    @Index(name = "idx_jobs_last_seen_at", columnList = "last_seen_at")
+})
 public class Job {
 
     @Id
@@ -32,6 +38,26 @@ public class Job {
     @Column(name = "external_url")
     private String externalUrl;
 
+    // Natural key from the source feed (Adzuna job id, or a hash of the redirect URL)
+    @Column(name = "external_id", unique = true)
+    private String externalId;
+
+    // Default backfills rows that existed before the column was added
+    @Column(name = "created_at", updatable = false, columnDefinition = "timestamp not null default now()")
+    private LocalDateTime createdAt;
+
+    // SHA-256 of the feed fields; unchanged postings are not rewritten
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // Last time a sync returned this posting
+    @Column(name = "last_seen_at", columnDefinition = "timestamp not null default now()")
+    private LocalDateTime lastSeenAt;
+
+    // Set when the posting has not been seen for too long; expired jobs are hidden
+    @Column(name = "expired_at")
+    private LocalDateTime expiredAt;
+
     public Job() {
     }
 
@@ -104,4 +130,54 @@ public class Job {
     public void setExternalUrl(String externalUrl) {
         this.externalUrl = externalUrl;
     }
+
+    public String getExternalId() {
+        return externalId;
+    }
+
+    public void setExternalId(String externalId) {
+        this.externalId = externalId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public LocalDateTime getLastSeenAt() {
+        return lastSeenAt;
+    }
+
+    public void setLastSeenAt(LocalDateTime lastSeenAt) {
+        this.lastSeenAt = lastSeenAt;
+    }
+
+    public LocalDateTime getExpiredAt() {
+        return expiredAt;
+    }
+
+    public void setExpiredAt(LocalDateTime expiredAt) {
+        this.expiredAt = expiredAt;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (lastSeenAt == null) {
+            lastSeenAt = createdAt;
+        }
+    }
 }
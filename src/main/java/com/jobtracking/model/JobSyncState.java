@@ -0,0 +1,128 @@
+package com.jobtracking.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tracks Adzuna sync state per (query, location) pair.
+ * lastSyncedAt is the watermark used to request only postings newer than the previous sync.
+ * completeFullSyncs records the recent full syncs that fetched every page, which decide expiry.
+ */
+@Entity
+@Table(name = "job_sync_state", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_job_sync_state_query_location", columnNames = {"search_query", "location"})
+})
+public class JobSyncState {
+
+    @Id
+    @GeneratedValue(generator = "UUID")
+    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @Column(name = "id", updatable = false, nullable = false, columnDefinition = "uuid")
+    private UUID id;
+
+    @Column(name = "search_query", nullable = false)
+    private String query;
+
+    @Column(nullable = false)
+    private String location;
+
+    // Start time of the last sync that completed without errors
+    private LocalDateTime lastSyncedAt;
+
+    // Start time of the last sync that ran without a max_days_old filter
+    private LocalDateTime lastFullSyncAt;
+
+    // Start times of the latest full syncs that were not cut off by the page cap, newest first
+    @Column(name = "complete_full_syncs", columnDefinition = "TEXT")
+    private String completeFullSyncs;
+
+    public JobSyncState() {
+    }
+
+    public JobSyncState(String query, String location) {
+        this.query = query;
+        this.location = location;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public LocalDateTime getLastSyncedAt() {
+        return lastSyncedAt;
+    }
+
+    public void setLastSyncedAt(LocalDateTime lastSyncedAt) {
+        this.lastSyncedAt = lastSyncedAt;
+    }
+
+    public LocalDateTime getLastFullSyncAt() {
+        return lastFullSyncAt;
+    }
+
+    public void setLastFullSyncAt(LocalDateTime lastFullSyncAt) {
+        this.lastFullSyncAt = lastFullSyncAt;
+    }
+
+    public String getCompleteFullSyncs() {
+        return completeFullSyncs;
+    }
+
+    public void setCompleteFullSyncs(String completeFullSyncs) {
+        this.completeFullSyncs = completeFullSyncs;
+    }
+
+    /**
+     * Start times of the latest complete full syncs, newest first
+     */
+    public List<LocalDateTime> getCompleteFullSyncTimes() {
+        List<LocalDateTime> times = new ArrayList<>();
+        if (completeFullSyncs == null || completeFullSyncs.isEmpty()) {
+            return times;
+        }
+        for (String value : completeFullSyncs.split(",")) {
+            times.add(LocalDateTime.parse(value));
+        }
+        return times;
+    }
+
+    /**
+     * Record a complete full sync, keeping only the latest {@code keep}
+     */
+    public void recordCompleteFullSync(LocalDateTime startedAt, int keep) {
+        List<LocalDateTime> times = getCompleteFullSyncTimes();
+        times.add(0, startedAt);
+        StringBuilder encoded = new StringBuilder();
+        for (int i = 0; i < Math.min(keep, times.size()); i++) {
+            if (encoded.length() > 0) {
+                encoded.append(',');
+            }
+            encoded.append(times.get(i));
+        }
+        this.completeFullSyncs = encoded.toString();
+    }
+}
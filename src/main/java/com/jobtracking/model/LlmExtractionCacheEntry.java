@@ -0,0 +1,42 @@
+package com.jobtracking.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Persisted LLM company/title extraction, keyed by a normalized hash of the email content.
+ * Shared across users: the same ATS template sent to many people is only sent to the LLM once.
+ */
+@Entity
+@Table(name = "llm_extraction_cache", indexes = {
+    @Index(name = "idx_llm_extraction_cache_created_at", columnList = "created_at")
+})
+public class LlmExtractionCacheEntry {
+
+    // Hex SHA-256 of (sender domain, subject template, truncated body)
+    @Id
+    @Column(name = "cache_key", length = 64, nullable = false, updatable = false)
+    private String cacheKey;
+
+    private String company;
+
+    private String title;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public LlmExtractionCacheEntry() {}
+
+    // Getters and Setters
+    public String getCacheKey() { return cacheKey; }
+    public void setCacheKey(String cacheKey) { this.cacheKey = cacheKey; }
+
+    public String getCompany() { return company; }
+    public void setCompany(String company) { this.company = company; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
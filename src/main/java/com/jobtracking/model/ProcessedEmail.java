@@ -0,0 +1,48 @@
+package com.jobtracking.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Ledger of Gmail messages the background scanner has already handled for each user.
+ * The unique (user_id, gmail_message_id) key makes the "claim" insert safe under concurrent scans.
+ */
+@Entity
+@Table(name = "processed_email", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_processed_email_user_message", columnNames = {"user_id", "gmail_message_id"})
+})
+public class ProcessedEmail {
+
+    @Id
+    @GeneratedValue(generator = "UUID")
+    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @Column(name = "id", updatable = false, nullable = false, columnDefinition = "uuid")
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "gmail_message_id", nullable = false)
+    private String gmailMessageId;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+
+    public ProcessedEmail() {}
+
+    // Getters and Setters
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+
+    public String getGmailMessageId() { return gmailMessageId; }
+    public void setGmailMessageId(String gmailMessageId) { this.gmailMessageId = gmailMessageId; }
+
+    public LocalDateTime getProcessedAt() { return processedAt; }
+    public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+}
@@ -2,13 +2,18 @@ package com.jobtracking.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.GenericGenerator;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "reminders")
+@Table(name = "reminders", indexes = {
+    @Index(name = "idx_reminders_user_google_event", columnList = "user_id, google_calendar_event_id")
+})
+// Only write changed columns, so user edits never clobber Google IDs set by the sync dispatcher
+@DynamicUpdate
 public class Reminder {
 
     @Id
@@ -2,7 +2,10 @@ package com.jobtracking.repository;
 
 import com.jobtracking.model.Application;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,7 +29,49 @@ public interface ApplicationRepository extends JpaRepository<Application, UUID>
 
     // Find by job link for a specific user
     Application findByUser_IdAndJobLink(UUID userId, String jobLink);
+
+    // ===== Normalized matching (idx_applications_user_company_title_norm) =====
+
+    Application findFirstByUser_IdAndCompanyNormalizedAndTitleNormalized(UUID userId, String companyNormalized,
+                                                                       String titleNormalized);
+
+    // Most recent application for the company
+    Application findFirstByUser_IdAndCompanyNormalizedOrderByCreatedAtDesc(UUID userId, String companyNormalized);
+
+    // Closest company name by pg_trgm similarity among the user's applications (requires the pg_trgm extension)
+    @Query(value = "SELECT * FROM applications WHERE user_id = :userId " +
+            "AND similarity(company_normalized, :company) >= :threshold " +
+            "ORDER BY similarity(company_normalized, :company) DESC, created_at DESC LIMIT 1", nativeQuery = true)
+    Application findMostSimilarCompany(@Param("userId") UUID userId, @Param("company") String companyNormalized,
+                                       @Param("threshold") double threshold);
+
+    // Rows written before the normalized columns existed
+    @Query("SELECT a.id FROM Application a WHERE a.companyNormalized IS NULL AND a.company IS NOT NULL")
+    List<UUID> findIdsMissingNormalizedNames();
     
+    // ===== Dashboard aggregates (idx_applications_user_status_created) =====
+    // Rows are [dimension, bucket, total] with dimension "status", "week" (Monday of the week,
+    // only weeks from :since) or "source". One GROUP BY with grouping sets, so a single round trip.
+
+    String DASHBOARD_WEEK_AND_SOURCE = "FROM (SELECT status, source, " +
+            "CASE WHEN created_at >= :since THEN CAST(date_trunc('week', created_at) AS date) END AS week " +
+            "FROM applications WHERE user_id = :userId) a ";
+
+    @Query(value = "SELECT CASE GROUPING(status, week, source) WHEN 3 THEN 'status' WHEN 5 THEN 'week' ELSE 'source' END, " +
+            "COALESCE(status, CAST(week AS text), source), COUNT(*) " +
+            DASHBOARD_WEEK_AND_SOURCE +
+            "GROUP BY GROUPING SETS ((status), (week), (source))", nativeQuery = true)
+    List<Object[]> aggregateDashboard(@Param("userId") UUID userId, @Param("since") LocalDate since);
+
+    // Same rows, with per-status counts read from the trigger-maintained application_status_counts table
+    @Query(value = "SELECT 'status', NULLIF(status, ''), total FROM application_status_counts WHERE user_id = :userId " +
+            "UNION ALL " +
+            "SELECT CASE GROUPING(week, source) WHEN 1 THEN 'week' ELSE 'source' END, " +
+            "COALESCE(CAST(week AS text), source), COUNT(*) " +
+            DASHBOARD_WEEK_AND_SOURCE +
+            "GROUP BY GROUPING SETS ((week), (source))", nativeQuery = true)
+    List<Object[]> aggregateDashboardWithStatusCounters(@Param("userId") UUID userId, @Param("since") LocalDate since);
+
     // ===== Legacy queries (kept for backwards compatibility, but should be phased out) =====
     
     // Find by company name (case insensitive)
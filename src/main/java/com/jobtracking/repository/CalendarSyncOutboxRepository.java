@@ -0,0 +1,46 @@
+package com.jobtracking.repository;
+
+import com.jobtracking.model.CalendarSyncOperation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface CalendarSyncOutboxRepository extends JpaRepository<CalendarSyncOperation, Long> {
+
+    // Due operations that are the oldest pending one for their reminder (per-reminder ordering)
+    @Query("SELECT o FROM CalendarSyncOperation o WHERE o.status = 'PENDING' AND o.nextAttemptAt <= :now " +
+            "AND NOT EXISTS (SELECT p.id FROM CalendarSyncOperation p " +
+            "WHERE p.reminderId = o.reminderId AND p.status = 'PENDING' AND p.id < o.id) " +
+            "ORDER BY o.id")
+    List<CalendarSyncOperation> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Reminders among the given ones that still have unsynced local changes
+    @Query("SELECT DISTINCT o.reminderId FROM CalendarSyncOperation o " +
+            "WHERE o.status = 'PENDING' AND o.reminderId IN :reminderIds")
+    List<UUID> findPendingReminderIds(@Param("reminderIds") Collection<UUID> reminderIds);
+
+    // Give a reminder's pending DELETE the Google IDs created after its snapshot was taken
+    @Modifying
+    @Transactional
+    @Query("UPDATE CalendarSyncOperation o SET " +
+            "o.googleCalendarEventId = COALESCE(o.googleCalendarEventId, :eventId), " +
+            "o.googleTaskId = COALESCE(o.googleTaskId, :taskId) " +
+            "WHERE o.reminderId = :reminderId AND o.operation = 'DELETE' AND o.status = 'PENDING'")
+    int attachGoogleIdsToPendingDelete(@Param("reminderId") UUID reminderId, @Param("eventId") String googleCalendarEventId,
+                                       @Param("taskId") String googleTaskId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CalendarSyncOperation o WHERE o.status = 'DONE' AND o.processedAt < :cutoff")
+    int deleteDoneBefore(@Param("cutoff") LocalDateTime cutoff);
+}
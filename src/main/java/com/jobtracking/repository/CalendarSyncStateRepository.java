@@ -0,0 +1,14 @@
+package com.jobtracking.repository;
+
+import com.jobtracking.model.CalendarSyncState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface CalendarSyncStateRepository extends JpaRepository<CalendarSyncState, UUID> {
+
+    Optional<CalendarSyncState> findByUser_Id(UUID userId);
+}
@@ -1,11 +1,47 @@
 package com.jobtracking.repository;
 
+import com.jobtracking.dto.JobSummaryDto;
 import com.jobtracking.model.Job;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface JobRepository extends JpaRepository<Job, UUID> {
+public interface JobRepository extends JpaRepository<Job, UUID>, JobRepositoryCustom {
+
+    // Jobs that have not been soft-expired (used to build the recommendation index)
+    List<Job> findByExpiredAtIsNull();
+
+    // ===== Keyset pagination (newest first), excluding jobs the user has applied to =====
+    // Pass PageRequest.of(0, size) - the cursor replaces the offset. pattern is a lower-case
+    // LIKE pattern over company and title ('!' escapes wildcards), or '%' for every job
+
+    @Query("SELECT new com.jobtracking.dto.JobSummaryDto(j.id, j.title, j.company, j.salary, j.location, j.externalUrl, j.createdAt) " +
+            "FROM Job j " +
+            "WHERE j.expiredAt IS NULL " +
+            "AND j.id NOT IN (SELECT uaj.job.id FROM UserAppliedJob uaj WHERE uaj.user.id = :userId) " +
+            "AND (:pattern = '%' OR LOWER(j.company) LIKE :pattern ESCAPE '!' OR LOWER(j.title) LIKE :pattern ESCAPE '!') " +
+            "ORDER BY j.createdAt DESC, j.id DESC")
+    List<JobSummaryDto> findFirstPageForUser(@Param("userId") UUID userId,
+                                             @Param("pattern") String pattern,
+                                             Pageable pageable);
+
+    @Query("SELECT new com.jobtracking.dto.JobSummaryDto(j.id, j.title, j.company, j.salary, j.location, j.externalUrl, j.createdAt) " +
+            "FROM Job j " +
+            "WHERE j.expiredAt IS NULL " +
+            "AND (j.createdAt < :createdAt OR (j.createdAt = :createdAt AND j.id < :id)) " +
+            "AND j.id NOT IN (SELECT uaj.job.id FROM UserAppliedJob uaj WHERE uaj.user.id = :userId) " +
+            "AND (:pattern = '%' OR LOWER(j.company) LIKE :pattern ESCAPE '!' OR LOWER(j.title) LIKE :pattern ESCAPE '!') " +
+            "ORDER BY j.createdAt DESC, j.id DESC")
+    List<JobSummaryDto> findPageAfterForUser(@Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") UUID id,
+                                             @Param("userId") UUID userId,
+                                             @Param("pattern") String pattern,
+                                             Pageable pageable);
 }
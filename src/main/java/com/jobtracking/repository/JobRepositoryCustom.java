@@ -0,0 +1,26 @@
+package com.jobtracking.repository;
+
+import com.jobtracking.dto.JobUpsertResult;
+import com.jobtracking.model.Job;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Custom JDBC write path for jobs, merged into JobRepository by Spring Data
+ */
+public interface JobRepositoryCustom {
+
+    /**
+     * Insert or update jobs by external_id using batched INSERT ... ON CONFLICT DO UPDATE.
+     * Rows whose content hash is unchanged only get last_seen_at bumped and count as unchanged.
+     * Jobs without an external ID are ignored. IDs and content hashes are set on the passed-in jobs.
+     */
+    JobUpsertResult upsertAll(List<Job> jobs);
+
+    /**
+     * Soft-expire every live job not seen since the cutoff and return the expired IDs
+     */
+    List<UUID> expireNotSeenSince(LocalDateTime cutoff);
+}
@@ -0,0 +1,178 @@
+package com.jobtracking.repository;
+
+import com.jobtracking.dto.JobUpsertResult;
+import com.jobtracking.model.Job;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * JDBC implementation of {@link JobRepositoryCustom}.
+ * One lookup query plus one batched upsert per call, instead of a save() round trip per job.
+ * Postings whose content hash matches the stored row are not rewritten.
+ */
+public class JobRepositoryImpl implements JobRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String FIND_EXISTING_SQL =
+            "SELECT id, external_id, content_hash, expired_at FROM jobs WHERE external_id = ANY (?)";
+
+    // Unchanged, still-live postings only have their last-seen time bumped
+    private static final String TOUCH_SQL =
+            "UPDATE jobs SET last_seen_at = now() WHERE id = ANY (?)";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO jobs (id, external_id, title, company, salary, description, location, external_url, " +
+            "content_hash, last_seen_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, now()) " +
+            "ON CONFLICT (external_id) DO UPDATE SET " +
+            "title = EXCLUDED.title, " +
+            "company = EXCLUDED.company, " +
+            "salary = EXCLUDED.salary, " +
+            "description = EXCLUDED.description, " +
+            "location = EXCLUDED.location, " +
+            "external_url = EXCLUDED.external_url, " +
+            "content_hash = EXCLUDED.content_hash, " +
+            "last_seen_at = now(), " +
+            "expired_at = NULL";
+
+    private static final String EXPIRE_SQL =
+            "UPDATE jobs SET expired_at = now() WHERE expired_at IS NULL AND last_seen_at < ? RETURNING id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JobRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public JobUpsertResult upsertAll(List<Job> jobs) {
+        JobUpsertResult result = new JobUpsertResult();
+
+        // Collapse duplicates within the batch - ON CONFLICT cannot touch the same row twice
+        Map<String, Job> byExternalId = new LinkedHashMap<>();
+        for (Job job : jobs) {
+            if (job.getExternalId() != null && !job.getExternalId().isEmpty()) {
+                byExternalId.put(job.getExternalId(), job);
+            }
+        }
+        if (byExternalId.isEmpty()) {
+            return result;
+        }
+
+        // Resolve existing rows in one round trip and split off postings whose content is unchanged
+        Map<String, ExistingRow> existingRows = findExisting(byExternalId.keySet());
+        List<Job> batch = new ArrayList<>();
+        List<UUID> unchangedIds = new ArrayList<>();
+        for (Job job : byExternalId.values()) {
+            job.setContentHash(contentHash(job));
+            ExistingRow existing = existingRows.get(job.getExternalId());
+            if (existing == null) {
+                job.setId(UUID.randomUUID());
+                batch.add(job);
+            } else {
+                job.setId(existing.id);
+                // Expired rows are rewritten so they come back to life and get re-indexed
+                if (!existing.expired && job.getContentHash().equals(existing.contentHash)) {
+                    unchangedIds.add(existing.id);
+                } else {
+                    batch.add(job);
+                }
+            }
+        }
+
+        if (!unchangedIds.isEmpty()) {
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(TOUCH_SQL);
+                ps.setArray(1, con.createArrayOf("uuid", unchangedIds.toArray()));
+                return ps;
+            });
+            for (int i = 0; i < unchangedIds.size(); i++) {
+                result.recordUnchanged();
+            }
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batch, BATCH_SIZE, (ps, job) -> {
+            ps.setObject(1, job.getId());
+            ps.setString(2, job.getExternalId());
+            ps.setString(3, job.getTitle());
+            ps.setString(4, job.getCompany());
+            ps.setString(5, job.getSalary());
+            ps.setString(6, job.getDescription());
+            ps.setString(7, job.getLocation());
+            ps.setString(8, job.getExternalUrl());
+            ps.setString(9, job.getContentHash());
+        });
+
+        for (Job job : batch) {
+            if (existingRows.containsKey(job.getExternalId())) {
+                result.recordUpdated(job);
+            } else {
+                result.recordInserted(job);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public List<UUID> expireNotSeenSince(LocalDateTime cutoff) {
+        return jdbcTemplate.queryForList(EXPIRE_SQL, UUID.class, Timestamp.valueOf(cutoff));
+    }
+
+    private Map<String, ExistingRow> findExisting(Collection<String> externalIds) {
+        Map<String, ExistingRow> existing = new HashMap<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(FIND_EXISTING_SQL);
+            ps.setArray(1, con.createArrayOf("text", externalIds.toArray()));
+            return ps;
+        }, rs -> {
+            existing.put(rs.getString("external_id"), new ExistingRow(
+                    rs.getObject("id", UUID.class),
+                    rs.getString("content_hash"),
+                    rs.getTimestamp("expired_at") != null));
+        });
+        return existing;
+    }
+
+    /**
+     * SHA-256 over the fields the feed controls, so any visible change produces a new hash
+     */
+    static String contentHash(Job job) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String field : new String[]{job.getTitle(), job.getCompany(), job.getSalary(),
+                    job.getDescription(), job.getLocation(), job.getExternalUrl()}) {
+                if (field != null) {
+                    digest.update(field.getBytes(StandardCharsets.UTF_8));
+                }
+                // Field separator so ("ab", "c") and ("a", "bc") hash differently
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class ExistingRow {
+        final UUID id;
+        final String contentHash;
+        final boolean expired;
+
+        ExistingRow(UUID id, String contentHash, boolean expired) {
+            this.id = id;
+            this.contentHash = contentHash;
+            this.expired = expired;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.jobtracking.repository;
+
+import com.jobtracking.model.JobSyncState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface JobSyncStateRepository extends JpaRepository<JobSyncState, UUID> {
+
+    Optional<JobSyncState> findByQueryAndLocation(String query, String location);
+}
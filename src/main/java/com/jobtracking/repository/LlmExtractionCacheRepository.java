@@ -0,0 +1,34 @@
+package com.jobtracking.repository;
+
+import com.jobtracking.model.LlmExtractionCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface LlmExtractionCacheRepository extends JpaRepository<LlmExtractionCacheEntry, String> {
+
+    // Primary key lookup, ignoring entries older than the TTL
+    Optional<LlmExtractionCacheEntry> findByCacheKeyAndCreatedAtAfter(String cacheKey, LocalDateTime createdAfter);
+
+    // Insert or refresh an entry in one statement
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO llm_extraction_cache (cache_key, company, title, created_at) " +
+            "VALUES (:cacheKey, :company, :title, :createdAt) " +
+            "ON CONFLICT (cache_key) DO UPDATE SET company = EXCLUDED.company, title = EXCLUDED.title, " +
+            "created_at = EXCLUDED.created_at", nativeQuery = true)
+    int upsert(@Param("cacheKey") String cacheKey, @Param("company") String company, @Param("title") String title,
+               @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM LlmExtractionCacheEntry e WHERE e.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
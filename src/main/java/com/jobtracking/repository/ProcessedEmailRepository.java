@@ -0,0 +1,36 @@
+package com.jobtracking.repository;
+
+import com.jobtracking.model.ProcessedEmail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ProcessedEmailRepository extends JpaRepository<ProcessedEmail, UUID> {
+
+    // Point lookup on the (user_id, gmail_message_id) unique index
+    boolean existsByUser_IdAndGmailMessageId(UUID userId, String gmailMessageId);
+
+    // All message IDs for a user, used to seed the in-memory Bloom filter
+    @Query("SELECT pe.gmailMessageId FROM ProcessedEmail pe WHERE pe.user.id = :userId")
+    List<String> findMessageIdsByUserId(@Param("userId") UUID userId);
+
+    // Atomically claim a message; returns 0 if another scan already recorded it
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO processed_email (id, user_id, gmail_message_id, processed_at) " +
+            "VALUES (gen_random_uuid(), :userId, :messageId, now()) " +
+            "ON CONFLICT (user_id, gmail_message_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") UUID userId, @Param("messageId") String messageId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ProcessedEmail pe WHERE pe.user.id = :userId AND pe.gmailMessageId = :messageId")
+    int deleteByUserIdAndMessageId(@Param("userId") UUID userId, @Param("messageId") String messageId);
+}
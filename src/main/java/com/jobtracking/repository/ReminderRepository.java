@@ -2,7 +2,12 @@ package com.jobtracking.repository;
 
 import com.jobtracking.model.Reminder;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,5 +16,16 @@ public interface ReminderRepository extends JpaRepository<Reminder, UUID> {
     List<Reminder> findByApplicationId(UUID applicationId);
     List<Reminder> findByApplicationIdIn(List<UUID> applicationIds);
     List<Reminder> findByUser_Id(UUID userId);
+
+    // Reminders linked to the given Google events (calendar reconciliation)
+    List<Reminder> findByUser_IdAndGoogleCalendarEventIdIn(UUID userId, Collection<String> googleCalendarEventIds);
+    List<Reminder> findByUser_IdAndGoogleCalendarEventIdIsNotNull(UUID userId);
+
+    // Record Google IDs without overwriting reminder fields the user may have changed meanwhile
+    @Modifying
+    @Transactional
+    @Query("UPDATE Reminder r SET r.googleCalendarEventId = :eventId, r.googleTaskId = :taskId WHERE r.id = :id")
+    int updateGoogleIds(@Param("id") UUID id, @Param("eventId") String googleCalendarEventId,
+                        @Param("taskId") String googleTaskId);
 }
 
@@ -2,8 +2,14 @@ package com.jobtracking.repository;
 
 import com.jobtracking.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,4 +19,25 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByUsername(String username);
     boolean existsByEmail(String email);
     boolean existsByUsername(String username);
+
+    // IDs of Gmail-connected users active since the cutoff, for the background scanner.
+    // Served by the partial index idx_users_gmail_active (see schema.sql); no token columns are read
+    @Query("SELECT u.id FROM User u " +
+            "WHERE u.googleGmailEnabled = true " +
+            "AND u.updatedAt > :cutoff " +
+            "AND u.googleAccessToken IS NOT NULL AND u.googleAccessToken <> ''")
+    List<UUID> findGmailScanCandidateIds(@Param("cutoff") LocalDateTime cutoff);
+
+    // IDs of users whose reminders are synced to Google Calendar, for the drift reconciler
+    @Query("SELECT u.id FROM User u " +
+            "WHERE u.googleCalendarEnabled = true " +
+            "AND u.googleAccessToken IS NOT NULL AND u.googleAccessToken <> ''")
+    List<UUID> findCalendarSyncUserIds();
+
+    // Store a refreshed access token without rewriting the whole row.
+    // Bypasses @PreUpdate on purpose: a background refresh is not user activity
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.googleAccessToken = :accessToken WHERE u.id = :userId")
+    int updateGoogleAccessToken(@Param("userId") UUID userId, @Param("accessToken") String accessToken);
 }
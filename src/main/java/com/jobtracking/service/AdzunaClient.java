@@ -2,25 +2,29 @@ package com.jobtracking.service;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.jobtracking.dto.JobUpsertResult;
 import com.jobtracking.model.Job;
-import com.jobtracking.repository.JobRepository;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
 
-// Uses Adzuna Job Search API to fetch jobs and persist them.
+// Uses Adzuna Job Search API to fetch jobs and persist them (deduplicated by Adzuna job id).
 // Requires ADZUNA_APP_ID and ADZUNA_APP_KEY environment variables.
 
 @Service
 public class AdzunaClient {
 
-    private final RestTemplate restTemplate;
-    private final JobRepository jobRepository;
+    private final OutboundHttpClient httpClient;
+    private final JobIngestionService jobIngestionService;
 
     @Value("${adzuna.app-id}")
     private String appId;
@@ -34,27 +38,59 @@ public class AdzunaClient {
     @Value("${adzuna.results-per-page:25}")
     private int resultsPerPage;
 
-    public AdzunaClient(RestTemplate restTemplate, JobRepository jobRepository) {
-        this.restTemplate = restTemplate;
-        this.jobRepository = jobRepository;
+    @Value("${adzuna.request-timeout-ms:15000}")
+    private long requestTimeoutMs;
+
+    public AdzunaClient(OutboundHttpClient httpClient, JobIngestionService jobIngestionService) {
+        this.httpClient = httpClient;
+        this.jobIngestionService = jobIngestionService;
+    }
+
+    /**
+     * Fetch one page of results and upsert them, deduplicating on the Adzuna job id
+     */
+    public JobUpsertResult fetchAndSaveJobs(String query, String location) {
+        return jobIngestionService.ingest(fetchJobs(query, location));
+    }
+
+    /**
+     * Fetch the first page of results and map them to (unsaved) Job entities
+     */
+    public List<Job> fetchJobs(String query, String location) {
+        return fetchPage(query, location, 1).getJobs();
+    }
+
+    public AdzunaPage fetchPage(String query, String location, int page) {
+        return fetchPage(query, location, page, null);
     }
 
-    public List<Job> fetchAndSaveJobs(String query, String location) {
-        URI uri = UriComponentsBuilder
-                .fromHttpUrl("https://api.adzuna.com/v1/api/jobs/" + country + "/search/1")
+    /**
+     * Fetch a single results page (1-based), newest first, and map it to (unsaved) Job entities.
+     * HTTP errors are thrown as RestClientException subclasses so callers can back off.
+     *
+     * @param maxDaysOld Only return postings at most this many days old, or null for no limit
+     */
+    public AdzunaPage fetchPage(String query, String location, int page, Integer maxDaysOld) {
+        UriComponentsBuilder builder = UriComponentsBuilder
+                .fromHttpUrl("https://api.adzuna.com/v1/api/jobs/" + country + "/search/" + page)
                 .queryParam("app_id", appId)
                 .queryParam("app_key", appKey)
                 .queryParam("results_per_page", resultsPerPage)
                 .queryParam("what", query)
                 .queryParam("where", location)
-                .build()
-                .toUri();
+                .queryParam("sort_by", "date");
+        if (maxDaysOld != null) {
+            builder.queryParam("max_days_old", maxDaysOld);
+        }
+        URI uri = builder.build().toUri();
 
         AdzunaResponse response =
-                restTemplate.getForObject(uri, AdzunaResponse.class);
+                httpClient.getJson("adzuna", uri, Duration.ofMillis(requestTimeoutMs), AdzunaResponse.class);
 
-        List<Job> saved = new ArrayList<>();
+        List<Job> jobs = new ArrayList<>();
+        long count = 0;
         if (response != null && response.results != null) {
+            count = response.count != null ? response.count : response.results.size();
             for (AdzunaJob aj : response.results) {
                 String salary = buildSalary(aj.salaryMin, aj.salaryMax);
                 String company = aj.company != null ? aj.company.displayName : "";
@@ -68,10 +104,55 @@ public class AdzunaClient {
                         loc,
                         aj.redirectUrl
                 );
-                saved.add(jobRepository.save(job));
+                job.setExternalId(buildExternalId(aj));
+                jobs.add(job);
             }
         }
-        return saved;
+        return new AdzunaPage(jobs, count);
+    }
+
+    public int getResultsPerPage() {
+        return resultsPerPage;
+    }
+
+    /**
+     * One page of mapped results plus Adzuna's total hit count for the query
+     */
+    public static class AdzunaPage {
+        private final List<Job> jobs;
+        private final long totalCount;
+
+        public AdzunaPage(List<Job> jobs, long totalCount) {
+            this.jobs = jobs;
+            this.totalCount = totalCount;
+        }
+
+        public List<Job> getJobs() {
+            return jobs;
+        }
+
+        public long getTotalCount() {
+            return totalCount;
+        }
+    }
+
+    /**
+     * Natural key for deduplication: Adzuna's job id, or a SHA-256 of the redirect URL if missing
+     */
+    private String buildExternalId(AdzunaJob aj) {
+        if (aj.id != null && !aj.id.isEmpty()) {
+            return aj.id;
+        }
+        if (aj.redirectUrl == null) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(aj.redirectUrl.getBytes(StandardCharsets.UTF_8));
+            return "url:" + HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     private String buildSalary(Double min, Double max) {
@@ -102,12 +183,18 @@ public class AdzunaClient {
     // DTOs for parsing Adzuna JSON
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class AdzunaResponse {
+        @JsonProperty("count")
+        public Long count;
+
         @JsonProperty("results")
         public List<AdzunaJob> results;
     }
 
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class AdzunaJob {
+        @JsonProperty("id")
+        public String id;
+
         @JsonProperty("title")
         public String title;
 
@@ -0,0 +1,322 @@
+package com.jobtracking.service;
+
+import com.jobtracking.dto.JobUpsertResult;
+import com.jobtracking.model.JobSyncState;
+import com.jobtracking.repository.JobSyncStateRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Harvests Adzuna across a matrix of queries x locations x pages.
+ *
+ * Page 1 of every (query, location) pair is requested up front; its hit count decides
+ * how many further pages to schedule. Workers share one rate limiter for the Adzuna
+ * host and hand each parsed page straight to JobIngestionService, so memory stays
+ * bounded by the pages in flight rather than the whole harvest.
+ *
+ * Pairs are synced incrementally from a persisted watermark (JobSyncState), so daily
+ * cost follows the number of new postings rather than the size of the catalog.
+ * A job is soft-expired once it is missing from the last N complete full syncs of every pair;
+ * full syncs cut short by max-pages do not count, since they never see older postings.
+ */
+@Service
+public class AdzunaHarvester {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdzunaHarvester.class);
+    private static final long BASE_BACKOFF_MS = 1000;
+    private static final long MAX_BACKOFF_MS = 60_000;
+
+    private final AdzunaClient adzunaClient;
+    private final JobIngestionService jobIngestionService;
+    private final JobSyncStateRepository jobSyncStateRepository;
+    private final HostRateLimiter rateLimiter;
+    private final ExecutorService executor;
+    private final List<String> queries;
+    private final List<String> locations;
+    private final int maxPages;
+    private final int maxRetries;
+    private final int fullResyncDays;
+    private final int expireAfterFullSyncs;
+
+    public AdzunaHarvester(AdzunaClient adzunaClient,
+                           JobIngestionService jobIngestionService,
+                           JobSyncStateRepository jobSyncStateRepository,
+                           @Value("${adzuna.harvest.queries:software engineer}") List<String> queries,
+                           @Value("${adzuna.harvest.locations:United States}") List<String> locations,
+                           @Value("${adzuna.harvest.max-pages:20}") int maxPages,
+                           @Value("${adzuna.harvest.concurrency:4}") int concurrency,
+                           @Value("${adzuna.harvest.requests-per-minute:25}") int requestsPerMinute,
+                           @Value("${adzuna.harvest.max-retries:3}") int maxRetries,
+                           @Value("${adzuna.sync.full-resync-days:7}") int fullResyncDays,
+                           @Value("${adzuna.sync.expire-after-full-syncs:3}") int expireAfterFullSyncs) {
+        this.adzunaClient = adzunaClient;
+        this.jobIngestionService = jobIngestionService;
+        this.jobSyncStateRepository = jobSyncStateRepository;
+        this.queries = trimmed(queries);
+        this.locations = trimmed(locations);
+        this.maxPages = Math.max(1, maxPages);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.fullResyncDays = Math.max(1, fullResyncDays);
+        this.expireAfterFullSyncs = Math.max(1, expireAfterFullSyncs);
+        this.rateLimiter = new HostRateLimiter(requestsPerMinute);
+        this.executor = Executors.newFixedThreadPool(Math.max(1, concurrency), r -> {
+            Thread t = new Thread(r, "adzuna-harvest");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Run a harvest over the configured matrix and wait for it to finish.
+     * Each pair only asks for postings newer than its watermark, except for periodic full
+     * re-syncs which refresh last-seen times. Jobs missing from the last N complete full syncs
+     * of every pair are soft-expired at the end, but only when every pair was harvested.
+     *
+     * @return counts only; changed jobs are indexed page by page and not retained
+     */
+    public JobUpsertResult harvest() {
+        LocalDateTime runStartedAt = LocalDateTime.now();
+        JobUpsertResult total = new JobUpsertResult();
+        CompletionService<PageOutcome> completion = new ExecutorCompletionService<>(executor);
+        List<PairProgress> pairs = new ArrayList<>();
+        int pending = 0;
+
+        for (String query : queries) {
+            for (String location : locations) {
+                JobSyncState state = jobSyncStateRepository.findByQueryAndLocation(query, location)
+                        .orElseGet(() -> new JobSyncState(query, location));
+                PairProgress pair = new PairProgress(state, maxDaysOldFor(state, runStartedAt));
+                pairs.add(pair);
+                completion.submit(() -> fetchAndIngest(pair, 1));
+                pending++;
+            }
+        }
+
+        while (pending > 0) {
+            PageOutcome outcome;
+            try {
+                outcome = completion.take().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Harvest interrupted with {} pages outstanding", pending);
+                return total;
+            } catch (ExecutionException e) {
+                // fetchAndIngest reports its own failures; this is unexpected
+                pending--;
+                logger.error("Harvest page failed: {}", e.getCause().getMessage());
+                continue;
+            }
+            pending--;
+
+            if (outcome.error != null) {
+                outcome.pair.failed = true;
+                logger.error("Harvest of '{}' in '{}' page {} failed: {}", outcome.pair.state.getQuery(),
+                        outcome.pair.state.getLocation(), outcome.page, outcome.error.getMessage());
+                continue;
+            }
+            // Changed jobs were indexed by ingest() and are dropped with the page
+            total.addCounts(outcome.result);
+
+            // Fan out the remaining pages once page 1 reports the hit count
+            if (outcome.page == 1) {
+                int pages = pagesFor(outcome.totalCount);
+                outcome.pair.truncated = (long) pages * resultsPerPage() < outcome.totalCount;
+                for (int page = 2; page <= pages; page++) {
+                    int p = page;
+                    completion.submit(() -> fetchAndIngest(outcome.pair, p));
+                    pending++;
+                }
+            }
+        }
+
+        // Only advance watermarks for pairs that were fetched without errors
+        boolean allPairsCompleted = true;
+        boolean allPairsCovered = true;
+        LocalDateTime cutoff = null;
+        for (PairProgress pair : pairs) {
+            if (pair.failed) {
+                allPairsCompleted = false;
+                continue;
+            }
+            pair.state.setLastSyncedAt(runStartedAt);
+            if (pair.maxDaysOld == null) {
+                pair.state.setLastFullSyncAt(runStartedAt);
+                if (pair.truncated) {
+                    logger.warn("Full sync of '{}' in '{}' stopped at {} pages; it does not count towards expiry",
+                            pair.state.getQuery(), pair.state.getLocation(), maxPages);
+                } else {
+                    pair.state.recordCompleteFullSync(runStartedAt, expireAfterFullSyncs);
+                }
+            }
+            jobSyncStateRepository.save(pair.state);
+
+            // A live posting is seen by every complete full sync of its pair
+            List<LocalDateTime> fullSyncs = pair.state.getCompleteFullSyncTimes();
+            if (fullSyncs.size() < expireAfterFullSyncs) {
+                allPairsCovered = false;
+                logger.info("'{}' in '{}' has {} of {} complete full syncs needed for expiry",
+                        pair.state.getQuery(), pair.state.getLocation(), fullSyncs.size(), expireAfterFullSyncs);
+                continue;
+            }
+            LocalDateTime pairCutoff = fullSyncs.get(expireAfterFullSyncs - 1);
+            if (cutoff == null || pairCutoff.isBefore(cutoff)) {
+                cutoff = pairCutoff;
+            }
+        }
+
+        // A failed pair did not refresh last-seen times, so expiring now could drop live postings
+        // (e.g. the whole catalog during a long Adzuna outage)
+        if (!allPairsCompleted) {
+            logger.warn("Skipping job expiry: not every query/location pair was harvested completely");
+            return total;
+        }
+        if (!allPairsCovered || cutoff == null) {
+            logger.warn("Skipping job expiry: not every query/location pair has {} complete full syncs",
+                    expireAfterFullSyncs);
+            return total;
+        }
+        int expired = jobIngestionService.expireNotSeenSince(cutoff);
+        logger.info("Expired {} jobs not seen since {}", expired, cutoff);
+        return total;
+    }
+
+    /**
+     * max_days_old for this pair's next request, or null for a full (unfiltered) sync
+     */
+    private Integer maxDaysOldFor(JobSyncState state, LocalDateTime now) {
+        if (state.getLastSyncedAt() == null || state.getLastFullSyncAt() == null
+                || state.getLastFullSyncAt().isBefore(now.minusDays(fullResyncDays))) {
+            return null;
+        }
+        // Round up and add a day of overlap so postings indexed late are not missed
+        long hours = Duration.between(state.getLastSyncedAt(), now).toHours();
+        return (int) Math.min(fullResyncDays, (hours + 23) / 24 + 1);
+    }
+
+    private PageOutcome fetchAndIngest(PairProgress pair, int page) {
+        String query = pair.state.getQuery();
+        String location = pair.state.getLocation();
+        try {
+            AdzunaClient.AdzunaPage adzunaPage = fetchWithRetry(query, location, page, pair.maxDaysOld);
+            JobUpsertResult result = jobIngestionService.ingest(adzunaPage.getJobs());
+            logger.debug("Harvested '{}' in '{}' page {}: {}", query, location, page, result);
+            return new PageOutcome(pair, page, adzunaPage.getTotalCount(), result, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new PageOutcome(pair, page, 0, null, e);
+        } catch (Exception e) {
+            return new PageOutcome(pair, page, 0, null, e);
+        }
+    }
+
+    private AdzunaClient.AdzunaPage fetchWithRetry(String query, String location, int page, Integer maxDaysOld)
+            throws InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            rateLimiter.acquire();
+            try {
+                return adzunaClient.fetchPage(query, location, page, maxDaysOld);
+            } catch (HttpStatusCodeException e) {
+                boolean retryable = e.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()
+                        || e.getStatusCode().is5xxServerError();
+                if (!retryable || attempt >= maxRetries) {
+                    throw e;
+                }
+                long delay = retryAfterMillis(e.getResponseHeaders());
+                if (delay < 0) {
+                    delay = Math.min(MAX_BACKOFF_MS, BASE_BACKOFF_MS << attempt);
+                }
+                logger.warn("Adzuna returned {} for '{}' page {}, retrying in {} ms",
+                        e.getStatusCode().value(), query, page, delay);
+                rateLimiter.pauseFor(delay);
+            }
+        }
+    }
+
+    private int pagesFor(long totalCount) {
+        int perPage = resultsPerPage();
+        long pages = (totalCount + perPage - 1) / perPage;
+        return (int) Math.min(maxPages, pages);
+    }
+
+    private int resultsPerPage() {
+        return Math.max(1, adzunaClient.getResultsPerPage());
+    }
+
+    /**
+     * Retry-After in milliseconds (delta-seconds or HTTP-date), or -1 if absent/unparseable
+     */
+    private static long retryAfterMillis(HttpHeaders headers) {
+        String value = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (value == null || value.isBlank()) {
+            return -1;
+        }
+        try {
+            return Math.min(MAX_BACKOFF_MS, Long.parseLong(value.trim()) * 1000);
+        } catch (NumberFormatException ignored) {
+            // fall through to HTTP-date
+        }
+        try {
+            HttpHeaders parsed = new HttpHeaders();
+            parsed.set(HttpHeaders.DATE, value.trim());
+            long delta = parsed.getDate() - System.currentTimeMillis();
+            return Math.min(MAX_BACKOFF_MS, Math.max(0, delta));
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private static List<String> trimmed(List<String> values) {
+        List<String> result = new ArrayList<>();
+        for (String value : values) {
+            if (value != null && !value.isBlank()) {
+                result.add(value.trim());
+            }
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class PairProgress {
+        final JobSyncState state;
+        final Integer maxDaysOld;
+        boolean failed;
+        // More results than max-pages covers
+        boolean truncated;
+
+        PairProgress(JobSyncState state, Integer maxDaysOld) {
+            this.state = state;
+            this.maxDaysOld = maxDaysOld;
+        }
+    }
+
+    private static final class PageOutcome {
+        final PairProgress pair;
+        final int page;
+        final long totalCount;
+        final JobUpsertResult result;
+        final Exception error;
+
+        PageOutcome(PairProgress pair, int page, long totalCount, JobUpsertResult result, Exception error) {
+            this.pair = pair;
+            this.page = page;
+            this.totalCount = totalCount;
+            this.result = result;
+            this.error = error;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.jobtracking.model.Reminder;
 import com.jobtracking.model.User;
 import com.jobtracking.repository.ReminderRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 
 /**
@@ -15,32 +16,34 @@ import java.time.LocalDate;
 public class ApplicationAutoReminderService {
 
     private final ReminderRepository reminderRepository;
-    private final GoogleCalendarService googleCalendarService;
+    private final CalendarSyncOutbox calendarSyncOutbox;
 
     public ApplicationAutoReminderService(ReminderRepository reminderRepository,
-                                          GoogleCalendarService googleCalendarService) {
+                                          CalendarSyncOutbox calendarSyncOutbox) {
         this.reminderRepository = reminderRepository;
-        this.googleCalendarService = googleCalendarService;
+        this.calendarSyncOutbox = calendarSyncOutbox;
     }
 
     /**
      * Automatically create reminders for an application based on its deadlines and interview times
-     * Called when an application is created or updated
+     * Called when an application is created or updated. Google Calendar sync is queued in the
+     * same transaction (CalendarSyncOutbox) rather than called inline.
      *
      * @param application The application that was created/updated
      * @param user The user who owns the application
      */
+    @Transactional
     public void generateRemindersForApplication(Application application, User user) {
         // Create DEADLINE reminder if application has a deadline
         if (application.getDeadlineAt() != null) {
             Reminder deadlineReminder = createOrUpdateDeadlineReminder(application, user);
-            syncReminderToGoogleCalendar(deadlineReminder, user);
+            calendarSyncOutbox.enqueueUpsert(deadlineReminder, user);
         }
 
         // Create INTERVIEW reminder if application has an interview time
         if (application.getInterviewAt() != null) {
             Reminder interviewReminder = createOrUpdateInterviewReminder(application, user);
-            syncReminderToGoogleCalendar(interviewReminder, user);
+            calendarSyncOutbox.enqueueUpsert(interviewReminder, user);
         }
     }
 
@@ -119,33 +122,14 @@ public class ApplicationAutoReminderService {
 
     /**
      * Remove reminders for an application (called when application is deleted)
+     * Their Google events/tasks are deleted through the outbox, queued in the same transaction.
      */
-    public void removeRemindersForApplication(java.util.UUID applicationId) {
+    @Transactional
+    public void removeRemindersForApplication(java.util.UUID applicationId, User user) {
         var reminders = reminderRepository.findByApplicationId(applicationId);
-        reminderRepository.deleteAll(reminders);
-    }
-
-    /**
-     * Sync a reminder to Google Calendar if user has Google integration enabled
-     */
-    private void syncReminderToGoogleCalendar(Reminder reminder, User user) {
-        try {
-            if (user.isGoogleCalendarEnabled() && user.getGoogleAccessToken() != null) {
-                String googleCalendarEventId = googleCalendarService.createCalendarEvent(
-                        reminder,
-                        user.getGoogleAccessToken(),
-                        user.getTimezone()
-                );
-                reminder.setGoogleCalendarEventId(googleCalendarEventId);
-                reminderRepository.save(reminder);
-                System.out.println("[Google Calendar] ✓ Synced auto-reminder to Google Calendar: " + googleCalendarEventId);
-            } else {
-                System.out.println("[Google Calendar] ⚠ Google integration not enabled or no access token for user: " + user.getEmail());
-            }
-        } catch (Exception e) {
-            System.err.println("[Google Calendar] ✗ Failed to sync auto-reminder: " + e.getMessage());
-            e.printStackTrace();
-            // Don't fail - reminder is still created locally
+        for (Reminder reminder : reminders) {
+            calendarSyncOutbox.enqueueDelete(reminder, user);
         }
+        reminderRepository.deleteAll(reminders);
     }
-}
\ No newline at end of file
+}
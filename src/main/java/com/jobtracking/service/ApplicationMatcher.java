@@ -0,0 +1,105 @@
+package com.jobtracking.service;
+
+import com.jobtracking.model.Application;
+import com.jobtracking.repository.ApplicationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Finds the application an email refers to using the normalized company/title columns.
+ * Every lookup is a single probe of idx_applications_user_company_title_norm instead of
+ * loading the user's applications and comparing names in Java.
+ *
+ * With applications.match.trigram.enabled, a company with no normalized match falls back to
+ * the most similar company name (pg_trgm) among the user's applications.
+ */
+@Component
+public class ApplicationMatcher {
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final ApplicationRepository applicationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final double trigramThreshold;
+    private volatile boolean trigramEnabled;
+
+    public ApplicationMatcher(ApplicationRepository applicationRepository,
+                              JdbcTemplate jdbcTemplate,
+                              @Value("${applications.match.trigram.enabled:false}") boolean trigramEnabled,
+                              @Value("${applications.match.trigram.threshold:0.6}") double trigramThreshold) {
+        this.applicationRepository = applicationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.trigramEnabled = trigramEnabled;
+        this.trigramThreshold = trigramThreshold;
+    }
+
+    /**
+     * Application with the same normalized company and title, or null. Names that normalize to
+     * nothing (e.g. only punctuation) never match.
+     */
+    public Application findByCompanyAndTitle(UUID userId, String company, String title) {
+        String companyNormalized = Application.normalizeCompany(company);
+        String titleNormalized = Application.normalizeTitle(title);
+        if (companyNormalized == null || companyNormalized.isEmpty()
+                || titleNormalized == null || titleNormalized.isEmpty()) {
+            return null;
+        }
+        return applicationRepository.findFirstByUser_IdAndCompanyNormalizedAndTitleNormalized(
+                userId, companyNormalized, titleNormalized);
+    }
+
+    /**
+     * Most recent application for the same normalized company, then (if enabled) the closest
+     * company name by trigram similarity, or null
+     */
+    public Application findByCompany(UUID userId, String company) {
+        String companyNormalized = Application.normalizeCompany(company);
+        if (companyNormalized == null || companyNormalized.isEmpty()) {
+            return null;
+        }
+        Application application = applicationRepository.findFirstByUser_IdAndCompanyNormalizedOrderByCreatedAtDesc(
+                userId, companyNormalized);
+        if (application == null && trigramEnabled) {
+            try {
+                application = applicationRepository.findMostSimilarCompany(userId, companyNormalized, trigramThreshold);
+            } catch (Exception e) {
+                System.err.println("[ApplicationMatcher] Trigram lookup failed, disabling: " + e.getMessage());
+                trigramEnabled = false;
+            }
+        }
+        return application;
+    }
+
+    /**
+     * Prepare pg_trgm if near matching is enabled, and fill the normalized columns for rows
+     * written before they existed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepare() {
+        if (trigramEnabled) {
+            try {
+                jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            } catch (Exception e) {
+                System.err.println("[ApplicationMatcher] pg_trgm unavailable, near matching disabled: " + e.getMessage());
+                trigramEnabled = false;
+            }
+        }
+
+        List<UUID> ids = applicationRepository.findIdsMissingNormalizedNames();
+        for (int from = 0; from < ids.size(); from += BACKFILL_BATCH_SIZE) {
+            List<Application> batch = applicationRepository.findAllById(
+                    ids.subList(from, Math.min(ids.size(), from + BACKFILL_BATCH_SIZE)));
+            batch.forEach(Application::updateNormalizedNames);
+            applicationRepository.saveAll(batch);
+        }
+        if (!ids.isEmpty()) {
+            System.out.println("[ApplicationMatcher] Normalized company/title for " + ids.size() + " applications");
+        }
+    }
+}
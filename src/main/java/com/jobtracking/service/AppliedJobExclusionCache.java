@@ -0,0 +1,92 @@
+package com.jobtracking.service;
+
+import com.jobtracking.repository.UserAppliedJobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Per-user cache of applied jobs as a BitSet over JobSearchIndex ordinals.
+ * Passed into the ranking pass so applied jobs are skipped while scoring instead of
+ * being filtered out of an already-truncated page.
+ *
+ * Entries are loaded from user_applied_jobs on first use and updated in place when
+ * the user applies to a job. Ordinal sets are rebuilt from the cached job IDs (no DB
+ * round trip) whenever the index reassigns ordinals.
+ */
+@Component
+public class AppliedJobExclusionCache {
+
+    private final UserAppliedJobRepository userAppliedJobRepository;
+    private final JobSearchIndex jobSearchIndex;
+    private final Map<UUID, Entry> entries;
+
+    public AppliedJobExclusionCache(UserAppliedJobRepository userAppliedJobRepository,
+                                    JobSearchIndex jobSearchIndex,
+                                    @Value("${recommendations.exclusion-cache.max-users:1000}") int maxUsers) {
+        this.userAppliedJobRepository = userAppliedJobRepository;
+        this.jobSearchIndex = jobSearchIndex;
+        // Access-ordered LRU so memory stays bounded by recently active users
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > maxUsers;
+            }
+        });
+    }
+
+    /**
+     * Ordinals of jobs the user has applied to. Callers must not modify the result.
+     */
+    public BitSet getExcludedOrdinals(UUID userId) {
+        Entry entry = entries.get(userId);
+        if (entry == null) {
+            entry = new Entry(userAppliedJobRepository.findJobIdsByUserId(userId));
+            entries.put(userId, entry);
+        }
+
+        synchronized (entry) {
+            long generation = jobSearchIndex.generation();
+            if (entry.ordinals == null || entry.generation != generation) {
+                entry.ordinals = jobSearchIndex.toOrdinals(entry.jobIds);
+                entry.generation = generation;
+            }
+            return entry.ordinals;
+        }
+    }
+
+    /**
+     * Record a new UserAppliedJob row for a cached user
+     */
+    public void recordApplied(UUID userId, UUID jobId) {
+        Entry entry = entries.get(userId);
+        if (entry == null) {
+            // Not cached yet - it will be loaded with this job included
+            return;
+        }
+
+        synchronized (entry) {
+            entry.jobIds.add(jobId);
+            if (entry.ordinals != null) {
+                int ordinal = jobSearchIndex.ordinalOf(jobId);
+                if (ordinal >= 0) {
+                    // Copy on write: readers may still hold the previous set
+                    BitSet updated = (BitSet) entry.ordinals.clone();
+                    updated.set(ordinal);
+                    entry.ordinals = updated;
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        final Set<UUID> jobIds;
+        BitSet ordinals;
+        long generation;
+
+        Entry(Collection<UUID> jobIds) {
+            this.jobIds = new HashSet<>(jobIds);
+        }
+    }
+}
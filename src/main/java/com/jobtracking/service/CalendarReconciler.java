@@ -0,0 +1,286 @@
+package com.jobtracking.service;
+
+import com.google.api.client.util.DateTime;
+import com.google.api.services.calendar.model.Event;
+import com.google.api.services.calendar.model.EventDateTime;
+import com.jobtracking.model.CalendarSyncState;
+import com.jobtracking.model.Reminder;
+import com.jobtracking.model.User;
+import com.jobtracking.repository.CalendarSyncStateRepository;
+import com.jobtracking.repository.CalendarSyncOutboxRepository;
+import com.jobtracking.repository.ReminderRepository;
+import com.jobtracking.repository.UserRepository;
+import com.jobtracking.service.GoogleCalendarService.EventChanges;
+import com.jobtracking.service.GoogleCalendarService.Mutation;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Detects reminder events edited or deleted in Google Calendar and repairs the drift.
+ * Each user's primary calendar is read incrementally with a Calendar syncToken, so a run only
+ * sees events changed since the last one; the affected reminders are loaded in bulk.
+ *
+ * Fixes applied:
+ * - event deleted in Google: the reminder is unlinked (kept locally, not re-pushed)
+ * - event time/title/location edited in Google: the reminder takes the new values
+ * - event with a reminder's deterministic ID but no link (lost create response): linked
+ * - event with a deterministic ID whose reminder no longer exists: deleted in Google
+ *
+ * Reminders with pending outbox operations are skipped; their local change is newer and the
+ * outbox will push it. A full sync (first run, or after Google expires the token) also unlinks
+ * reminders whose event is no longer in the calendar.
+ */
+@Service
+public class CalendarReconciler {
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+    private static final String DEFAULT_TIMEZONE = "America/Los_Angeles";
+
+    private final UserRepository userRepository;
+    private final ReminderRepository reminderRepository;
+    private final CalendarSyncStateRepository syncStateRepository;
+    private final CalendarSyncOutboxRepository outboxRepository;
+    private final GoogleCalendarService googleCalendarService;
+
+    public CalendarReconciler(UserRepository userRepository,
+                              ReminderRepository reminderRepository,
+                              CalendarSyncStateRepository syncStateRepository,
+                              CalendarSyncOutboxRepository outboxRepository,
+                              GoogleCalendarService googleCalendarService) {
+        this.userRepository = userRepository;
+        this.reminderRepository = reminderRepository;
+        this.syncStateRepository = syncStateRepository;
+        this.outboxRepository = outboxRepository;
+        this.googleCalendarService = googleCalendarService;
+    }
+
+    @Scheduled(fixedDelayString = "${calendar.reconcile.interval-ms:900000}",
+            initialDelayString = "${calendar.reconcile.initial-delay-ms:120000}")
+    public void reconcileAll() {
+        for (UUID userId : userRepository.findCalendarSyncUserIds()) {
+            try {
+                reconcile(userId);
+            } catch (Exception e) {
+                System.err.println("[CalendarReconciler] ✗ Failed for user " + userId + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Pull the user's calendar changes since the last run and repair affected reminders
+     */
+    public void reconcile(UUID userId) throws Exception {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null || !user.isGoogleCalendarEnabled() || user.getGoogleAccessToken() == null) {
+            return;
+        }
+        String accessToken = user.getGoogleAccessToken();
+        CalendarSyncState state = syncStateRepository.findByUser_Id(userId)
+                .orElseGet(() -> new CalendarSyncState(user));
+
+        String syncToken = state.getSyncToken();
+        EventChanges changes = googleCalendarService.listEventChanges(accessToken, syncToken);
+        if (changes == null) {
+            System.out.println("[CalendarReconciler] Sync token expired for " + user.getEmail() + ", running full sync");
+            syncToken = null;
+            changes = googleCalendarService.listEventChanges(accessToken, null);
+        }
+
+        int fixes = applyChanges(user, changes.getEvents(), syncToken == null);
+
+        state.setSyncToken(changes.getNextSyncToken());
+        state.setLastReconciledAt(LocalDateTime.now());
+        syncStateRepository.save(state);
+
+        if (fixes > 0) {
+            System.out.println("[CalendarReconciler] ✓ " + user.getEmail() + ": " + changes.getEvents().size() +
+                    " changed events, " + fixes + " fixes");
+        }
+    }
+
+    private int applyChanges(User user, List<Event> events, boolean fullSync) throws Exception {
+        Map<String, Event> eventsById = new HashMap<>();
+        Set<UUID> encodedReminderIds = new HashSet<>();
+        for (Event event : events) {
+            eventsById.put(event.getId(), event);
+            UUID reminderId = CalendarSyncOutbox.reminderIdFor(event.getId());
+            if (reminderId != null) {
+                encodedReminderIds.add(reminderId);
+            }
+        }
+        if (eventsById.isEmpty() && !fullSync) {
+            return 0;
+        }
+
+        // Reminders linked to a changed event (every linked reminder on a full sync)
+        List<Reminder> linked = fullSync
+                ? reminderRepository.findByUser_IdAndGoogleCalendarEventIdIsNotNull(user.getId())
+                : reminderRepository.findByUser_IdAndGoogleCalendarEventIdIn(user.getId(), eventsById.keySet());
+        Map<UUID, Reminder> reminders = new HashMap<>();
+        linked.forEach(reminder -> reminders.put(reminder.getId(), reminder));
+        // Plus reminders named by a deterministic event ID that were never linked
+        Set<UUID> unlinkedIds = new HashSet<>(encodedReminderIds);
+        unlinkedIds.removeAll(reminders.keySet());
+        for (Reminder reminder : reminderRepository.findAllById(unlinkedIds)) {
+            if (reminder.getUser() != null && user.getId().equals(reminder.getUser().getId())) {
+                reminders.put(reminder.getId(), reminder);
+            }
+        }
+
+        Set<UUID> candidateIds = new HashSet<>(reminders.keySet());
+        candidateIds.addAll(encodedReminderIds);
+        Set<UUID> pending = candidateIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(outboxRepository.findPendingReminderIds(candidateIds));
+
+        ZoneId zone = ZoneId.of(user.getTimezone() != null ? user.getTimezone() : DEFAULT_TIMEZONE);
+        List<Reminder> pulled = new ArrayList<>();
+        List<Mutation> remoteDeletes = new ArrayList<>();
+        int fixes = 0;
+
+        for (Reminder reminder : reminders.values()) {
+            if (pending.contains(reminder.getId())) {
+                continue;
+            }
+            String eventId = reminder.getGoogleCalendarEventId() != null
+                    ? reminder.getGoogleCalendarEventId()
+                    : CalendarSyncOutbox.eventIdFor(reminder.getId());
+            Event event = eventsById.get(eventId);
+            if (event == null) {
+                if (fullSync && reminder.getGoogleCalendarEventId() != null) {
+                    // Not in the calendar at all any more
+                    reminderRepository.updateGoogleIds(reminder.getId(), null, reminder.getGoogleTaskId());
+                    fixes++;
+                }
+                continue;
+            }
+            if ("cancelled".equals(event.getStatus())) {
+                if (reminder.getGoogleCalendarEventId() != null) {
+                    reminderRepository.updateGoogleIds(reminder.getId(), null, reminder.getGoogleTaskId());
+                    fixes++;
+                }
+                continue;
+            }
+            if (reminder.getGoogleCalendarEventId() == null) {
+                reminderRepository.updateGoogleIds(reminder.getId(), eventId, reminder.getGoogleTaskId());
+                fixes++;
+            }
+            if (pullEventChanges(reminder, event, zone)) {
+                pulled.add(reminder);
+            }
+        }
+
+        // Events created for reminders that have since been deleted
+        for (UUID reminderId : encodedReminderIds) {
+            Event event = eventsById.get(CalendarSyncOutbox.eventIdFor(reminderId));
+            if (!reminders.containsKey(reminderId) && !pending.contains(reminderId)
+                    && !"cancelled".equals(event.getStatus())
+                    && !reminderRepository.existsById(reminderId)) {
+                remoteDeletes.add(Mutation.deleteEvent(event.getId()));
+            }
+        }
+
+        if (!pulled.isEmpty()) {
+            reminderRepository.saveAll(pulled);
+            fixes += pulled.size();
+        }
+        if (!remoteDeletes.isEmpty()) {
+            googleCalendarService.applyBatch(user.getGoogleAccessToken(), user.getTimezone(), remoteDeletes);
+            fixes += (int) remoteDeletes.stream().filter(m -> m.isApplied() || m.isMissing()).count();
+        }
+        return fixes;
+    }
+
+    /**
+     * Copy title, location and time edited in Google onto the reminder. Returns false when the
+     * event already matches (e.g. the echo of our own update).
+     */
+    private static boolean pullEventChanges(Reminder reminder, Event event, ZoneId zone) {
+        boolean changed = false;
+
+        String title = event.getSummary();
+        if (title != null && !title.equals(reminder.getTitle())
+                && !(reminder.getTitle() == null && "Job Application Reminder".equals(title))) {
+            reminder.setTitle(title);
+            changed = true;
+        }
+
+        String location = event.getLocation() != null && !event.getLocation().isEmpty() ? event.getLocation() : null;
+        String currentLocation = reminder.getLocation() != null && !reminder.getLocation().isEmpty()
+                ? reminder.getLocation() : null;
+        if (!Objects.equals(location, currentLocation)) {
+            reminder.setLocation(location);
+            changed = true;
+        }
+
+        EventDateTime start = event.getStart();
+        if (start == null) {
+            return changed;
+        }
+        LocalDate triggerAt;
+        String startTime = null;
+        String endTime = reminder.getEndTime();
+        LocalDate endDate = reminder.getEndDate();
+        if (start.getDate() != null) {
+            // All-day event: a timed reminder moved to all-day loses its times
+            triggerAt = LocalDate.parse(start.getDate().toStringRfc3339());
+            if (reminder.getStartTime() != null) {
+                endTime = null;
+            }
+        } else if (start.getDateTime() != null) {
+            ZonedDateTime startAt = toZoned(start.getDateTime(), zone);
+            triggerAt = startAt.toLocalDate();
+            startTime = startAt.toLocalTime().format(TIME_FORMAT);
+            if ("INTERVIEW".equals(reminder.getKind()) && event.getEnd() != null && event.getEnd().getDateTime() != null) {
+                ZonedDateTime endAt = toZoned(event.getEnd().getDateTime(), zone);
+                // Null end time/date mean "one hour later" / "same day"; keep them null when that still holds
+                String newEndTime = endAt.toLocalTime().format(TIME_FORMAT);
+                if (reminder.getEndTime() != null || !endAt.equals(startAt.plusHours(1))) {
+                    endTime = newEndTime;
+                }
+                if (reminder.getEndDate() != null || !endAt.toLocalDate().equals(triggerAt)) {
+                    endDate = endAt.toLocalDate();
+                }
+            }
+        } else {
+            return changed;
+        }
+
+        if (!Objects.equals(triggerAt, reminder.getTriggerAt())) {
+            reminder.setTriggerAt(triggerAt);
+            changed = true;
+        }
+        if (!Objects.equals(startTime, reminder.getStartTime())) {
+            reminder.setStartTime(startTime);
+            changed = true;
+        }
+        if (!Objects.equals(endTime, reminder.getEndTime())) {
+            reminder.setEndTime(endTime);
+            changed = true;
+        }
+        if (!Objects.equals(endDate, reminder.getEndDate())) {
+            reminder.setEndDate(endDate);
+            changed = true;
+        }
+        return changed;
+    }
+
+    private static ZonedDateTime toZoned(DateTime dateTime, ZoneId zone) {
+        return Instant.ofEpochMilli(dateTime.getValue()).atZone(zone);
+    }
+}
@@ -0,0 +1,312 @@
+package com.jobtracking.service;
+
+import com.jobtracking.model.CalendarSyncOperation;
+import com.jobtracking.model.Reminder;
+import com.jobtracking.model.User;
+import com.jobtracking.repository.CalendarSyncOutboxRepository;
+import com.jobtracking.repository.ReminderRepository;
+import com.jobtracking.repository.UserRepository;
+import com.jobtracking.service.GoogleCalendarService.Mutation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional outbox for Google Calendar/Tasks sync.
+ * Reminder writes only record an operation row in their own transaction; a background
+ * dispatcher applies the operations to Google with retries and exponential backoff, oldest
+ * first and one at a time per reminder. Each run sends a user's due operations together as
+ * Google batch requests.
+ *
+ * UPSERT operations sync the reminder's current state (create if no Google ID yet, else update),
+ * so replays are harmless. Calendar events are created with an event ID derived from the
+ * reminder ID, which makes a retried insert after a lost response resolve to the same event.
+ */
+@Service
+public class CalendarSyncOutbox {
+
+    private static final int BATCH_SIZE = 50;
+    private static final long BASE_BACKOFF_SECONDS = 30;
+    private static final long MAX_BACKOFF_SECONDS = 3600;
+
+    private final CalendarSyncOutboxRepository outboxRepository;
+    private final ReminderRepository reminderRepository;
+    private final UserRepository userRepository;
+    private final GoogleCalendarService googleCalendarService;
+    private final int maxAttempts;
+
+    public CalendarSyncOutbox(CalendarSyncOutboxRepository outboxRepository,
+                              ReminderRepository reminderRepository,
+                              UserRepository userRepository,
+                              GoogleCalendarService googleCalendarService,
+                              @Value("${calendar.sync.max-attempts:8}") int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.reminderRepository = reminderRepository;
+        this.userRepository = userRepository;
+        this.googleCalendarService = googleCalendarService;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Queue a create-or-update of the reminder's Google event/task.
+     * Joins the caller's transaction so the operation commits (or rolls back) with the reminder.
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void enqueueUpsert(Reminder reminder, User user) {
+        if (!hasGoogleSync(user)) {
+            System.out.println("[Google Calendar] ⚠ Google integration not enabled for user: " + user.getEmail());
+            return;
+        }
+        outboxRepository.save(new CalendarSyncOperation(CalendarSyncOperation.UPSERT, reminder, user.getId()));
+    }
+
+    /**
+     * Queue deletion of the reminder's Google event/task; call before deleting the reminder row
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void enqueueDelete(Reminder reminder, User user) {
+        if (!hasGoogleSync(user)) {
+            return;
+        }
+        outboxRepository.save(new CalendarSyncOperation(CalendarSyncOperation.DELETE, reminder, user.getId()));
+    }
+
+    /**
+     * Google Calendar event ID used as the idempotency key for a reminder's event
+     */
+    public static String eventIdFor(UUID reminderId) {
+        // UUID hex digits are a subset of the base32hex alphabet Google requires
+        return "jt" + reminderId.toString().replace("-", "");
+    }
+
+    /**
+     * Reminder ID encoded in an {@link #eventIdFor} event ID, or null for other events
+     */
+    public static UUID reminderIdFor(String eventId) {
+        if (eventId == null || eventId.length() != 34 || !eventId.startsWith("jt")) {
+            return null;
+        }
+        String hex = eventId.substring(2);
+        try {
+            return new UUID(Long.parseUnsignedLong(hex.substring(0, 16), 16), Long.parseUnsignedLong(hex.substring(16), 16));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Apply due operations, one Google batch round per user instead of one HTTP call per operation
+     */
+    @Scheduled(fixedDelayString = "${calendar.sync.dispatch-interval-ms:5000}")
+    public void dispatch() {
+        List<CalendarSyncOperation> due = outboxRepository.findDue(LocalDateTime.now(), PageRequest.of(0, BATCH_SIZE));
+        if (due.isEmpty()) {
+            return;
+        }
+        Map<UUID, List<CalendarSyncOperation>> byUser = due.stream()
+                .collect(Collectors.groupingBy(CalendarSyncOperation::getUserId, LinkedHashMap::new, Collectors.toList()));
+        Map<UUID, User> users = userRepository.findAllById(byUser.keySet()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<UUID, Reminder> reminders = reminderRepository.findAllById(due.stream()
+                        .filter(operation -> CalendarSyncOperation.UPSERT.equals(operation.getOperation()))
+                        .map(CalendarSyncOperation::getReminderId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Reminder::getId, Function.identity()));
+
+        byUser.forEach((userId, operations) -> {
+            dispatchForUser(users.get(userId), operations, reminders);
+            outboxRepository.saveAll(operations);
+        });
+    }
+
+    // Keep a week of completed operations for troubleshooting
+    @Scheduled(cron = "0 45 3 * * *")
+    public void purgeDone() {
+        int deleted = outboxRepository.deleteDoneBefore(LocalDateTime.now().minusDays(7));
+        if (deleted > 0) {
+            System.out.println("[CalendarSync] Purged " + deleted + " completed outbox entries");
+        }
+    }
+
+    private void dispatchForUser(User user, List<CalendarSyncOperation> operations, Map<UUID, Reminder> reminders) {
+        if (user == null || user.getGoogleAccessToken() == null) {
+            // Google disconnected: nothing left to sync
+            operations.forEach(CalendarSyncOutbox::markDone);
+            return;
+        }
+
+        Map<CalendarSyncOperation, List<Mutation>> mutationsByOperation = new LinkedHashMap<>();
+        for (CalendarSyncOperation operation : operations) {
+            mutationsByOperation.put(operation, CalendarSyncOperation.DELETE.equals(operation.getOperation())
+                    ? deleteMutations(operation)
+                    : upsertMutations(user, reminders.get(operation.getReminderId())));
+        }
+
+        // A failed batch request leaves the mutations it carried unapplied; ones already applied
+        // (e.g. created tasks) still have their IDs recorded below
+        String batchError = null;
+        try {
+            List<Mutation> all = new ArrayList<>();
+            mutationsByOperation.values().forEach(all::addAll);
+            if (!all.isEmpty()) {
+                googleCalendarService.applyBatch(user.getGoogleAccessToken(), user.getTimezone(), all);
+            }
+        } catch (Exception e) {
+            batchError = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+
+        for (Map.Entry<CalendarSyncOperation, List<Mutation>> entry : mutationsByOperation.entrySet()) {
+            CalendarSyncOperation operation = entry.getKey();
+            List<Mutation> mutations = entry.getValue();
+            if (CalendarSyncOperation.UPSERT.equals(operation.getOperation())) {
+                recordGoogleIds(user, reminders.get(operation.getReminderId()), mutations);
+            }
+            Mutation failed = mutations.stream()
+                    .filter(mutation -> !mutation.isApplied() && !mutation.isMissing())
+                    .findFirst()
+                    .orElse(null);
+            if (failed != null) {
+                recordFailure(operation, failed.getErrorMessage() != null
+                        ? failed.getType() + " failed (" + failed.getErrorCode() + "): " + failed.getErrorMessage()
+                        : Objects.requireNonNullElse(batchError, failed.getType() + " not applied"));
+                continue;
+            }
+            mutations.forEach(CalendarSyncOutbox::logOutcome);
+            markDone(operation);
+        }
+    }
+
+    /**
+     * Create the reminder's event/task if it has no Google ID yet, else update it
+     */
+    private static List<Mutation> upsertMutations(User user, Reminder reminder) {
+        List<Mutation> mutations = new ArrayList<>();
+        if (reminder == null) {
+            // Reminder deleted since; every delete path queues a DELETE operation, which follows
+            return mutations;
+        }
+        if (user.isGoogleCalendarEnabled() && !"FOLLOWUP".equals(reminder.getKind())) {
+            mutations.add(reminder.getGoogleCalendarEventId() == null
+                    ? Mutation.createEvent(reminder, eventIdFor(reminder.getId()))
+                    : Mutation.updateEvent(reminder, reminder.getGoogleCalendarEventId()));
+        }
+        if (user.isGoogleTasksEnabled() && "FOLLOWUP".equals(reminder.getKind())) {
+            mutations.add(reminder.getGoogleTaskId() == null
+                    ? Mutation.createTask(reminder)
+                    : Mutation.updateTask(reminder, reminder.getGoogleTaskId()));
+        }
+        return mutations;
+    }
+
+    private static List<Mutation> deleteMutations(CalendarSyncOperation operation) {
+        List<Mutation> mutations = new ArrayList<>();
+        if (!"FOLLOWUP".equals(operation.getKind())) {
+            // Fall back to the deterministic ID in case the event was created after the snapshot
+            mutations.add(Mutation.deleteEvent(operation.getGoogleCalendarEventId() != null
+                    ? operation.getGoogleCalendarEventId()
+                    : eventIdFor(operation.getReminderId())));
+        }
+        if (operation.getGoogleTaskId() != null) {
+            mutations.add(Mutation.deleteTask(operation.getGoogleTaskId()));
+        }
+        return mutations;
+    }
+
+    private void recordGoogleIds(User user, Reminder reminder, List<Mutation> mutations) {
+        if (reminder == null) {
+            return;
+        }
+        String eventId = reminder.getGoogleCalendarEventId();
+        String taskId = reminder.getGoogleTaskId();
+        for (Mutation mutation : mutations) {
+            if (mutation.getType() == Mutation.Type.CREATE_EVENT && mutation.isApplied()) {
+                eventId = mutation.getResultId();
+            } else if (mutation.getType() == Mutation.Type.CREATE_TASK && mutation.isApplied()) {
+                taskId = mutation.getResultId();
+            }
+        }
+        if (Objects.equals(eventId, reminder.getGoogleCalendarEventId())
+                && Objects.equals(taskId, reminder.getGoogleTaskId())) {
+            return;
+        }
+        if (reminderRepository.updateGoogleIds(reminder.getId(), eventId, taskId) > 0) {
+            return;
+        }
+        // The reminder was deleted while this batch ran, so its DELETE snapshot has no IDs for what
+        // was just created. Tasks have no deterministic ID to fall back on: hand the IDs to the DELETE
+        if (outboxRepository.attachGoogleIdsToPendingDelete(reminder.getId(), eventId, taskId) > 0) {
+            return;
+        }
+        // No DELETE queued: remove what was created right away
+        List<Mutation> cleanup = new ArrayList<>();
+        if (eventId != null) {
+            cleanup.add(Mutation.deleteEvent(eventId));
+        }
+        if (taskId != null) {
+            cleanup.add(Mutation.deleteTask(taskId));
+        }
+        try {
+            googleCalendarService.applyBatch(user.getGoogleAccessToken(), user.getTimezone(), cleanup);
+        } catch (Exception e) {
+            System.err.println("[CalendarSync] ✗ Failed to clean up Google items of deleted reminder " +
+                    reminder.getId() + ": " + e.getMessage());
+        }
+    }
+
+    private static void logOutcome(Mutation mutation) {
+        String id = mutation.isApplied() ? mutation.getResultId() : mutation.getGoogleId();
+        switch (mutation.getType()) {
+            case CREATE_EVENT, UPDATE_EVENT -> System.out.println(mutation.isApplied()
+                    ? "[Google Calendar] ✓ Synced reminder to Google Calendar: " + id
+                    : "[Google Calendar] ⚠ Event " + id + " no longer exists, skipping update");
+            case DELETE_EVENT -> System.out.println(mutation.isApplied()
+                    ? "[Google Calendar] ✓ Synced reminder deletion to Google Calendar: " + id
+                    : "[Google Calendar] Event " + id + " already gone");
+            case CREATE_TASK, UPDATE_TASK -> System.out.println(mutation.isApplied()
+                    ? "[Google Tasks] ✓ Synced followup to Google Tasks: " + id
+                    : "[Google Tasks] ⚠ Task " + id + " no longer exists, skipping update");
+            case DELETE_TASK -> System.out.println(mutation.isApplied()
+                    ? "[Google Tasks] ✓ Synced followup deletion to Google Tasks: " + id
+                    : "[Google Tasks] Task " + id + " already gone");
+        }
+    }
+
+    private static void markDone(CalendarSyncOperation operation) {
+        operation.setStatus(CalendarSyncOperation.DONE);
+        operation.setProcessedAt(LocalDateTime.now());
+        operation.setLastError(null);
+    }
+
+    private void recordFailure(CalendarSyncOperation operation, String error) {
+        int attempts = operation.getAttempts() + 1;
+        operation.setAttempts(attempts);
+        operation.setLastError(error);
+        if (attempts >= maxAttempts) {
+            operation.setStatus(CalendarSyncOperation.FAILED);
+            System.err.println("[CalendarSync] ✗ Giving up on " + operation.getOperation() + " for reminder " +
+                    operation.getReminderId() + " after " + attempts + " attempts: " + error);
+            return;
+        }
+        long backoff = Math.min(MAX_BACKOFF_SECONDS, BASE_BACKOFF_SECONDS << Math.min(attempts - 1, 20));
+        operation.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoff));
+        System.err.println("[CalendarSync] ✗ " + operation.getOperation() + " for reminder " + operation.getReminderId() +
+                " failed (attempt " + attempts + "), retrying in " + backoff + "s: " + error);
+    }
+
+    private static boolean hasGoogleSync(User user) {
+        return user.getGoogleAccessToken() != null && (user.isGoogleCalendarEnabled() || user.isGoogleTasksEnabled());
+    }
+}
@@ -0,0 +1,56 @@
+package com.jobtracking.service;
+
+/**
+ * Consecutive-failure circuit breaker for a remote dependency.
+ * After failureThreshold failures in a row the circuit opens and calls are refused for
+ * openMillis; after that a single trial call is let through and its outcome closes or
+ * re-opens the circuit.
+ */
+public class CircuitBreaker {
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private int consecutiveFailures;
+    private long openUntil;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * Whether a call may be made now. Claims the trial slot when the open period has elapsed.
+     */
+    public synchronized boolean allowRequest() {
+        if (consecutiveFailures < failureThreshold) {
+            return true;
+        }
+        if (System.currentTimeMillis() < openUntil || trialInFlight) {
+            return false;
+        }
+        trialInFlight = true;
+        return true;
+    }
+
+    /**
+     * True while calls are being refused (does not claim the trial slot)
+     */
+    public synchronized boolean isOpen() {
+        return consecutiveFailures >= failureThreshold
+                && (System.currentTimeMillis() < openUntil || trialInFlight);
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        trialInFlight = false;
+        if (consecutiveFailures >= failureThreshold) {
+            openUntil = System.currentTimeMillis() + openMillis;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.jobtracking.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Case-insensitive trie of known company names, loaded from a classpath resource.
+ * Replaces the large "known companies" regex alternation: one walk per word start instead of
+ * trying every alternative at every position, and no Pattern to compile.
+ *
+ * Matching follows the old \b(...)\b semantics: a name only matches when it starts and ends
+ * on a word boundary. The leftmost match wins; at the same position the longest name wins.
+ */
+public final class CompanyDictionary {
+
+    private static final class Node {
+        char[] keys = new char[0];
+        Node[] children = new Node[0];
+        // terminal: a name ends here; bodyScope: that name may also be matched in email bodies
+        boolean terminal;
+        boolean bodyScope;
+
+        Node child(char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node addChild(char c) {
+            Node existing = child(c);
+            if (existing != null) {
+                return existing;
+            }
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = c;
+            Node node = new Node();
+            children[children.length - 1] = node;
+            return node;
+        }
+    }
+
+    private final Node root = new Node();
+    private int size;
+
+    private CompanyDictionary() {
+    }
+
+    /**
+     * Load names from a resource with [subject-and-body] / [subject-only] sections.
+     * Blank lines and lines starting with '#' are ignored.
+     */
+    public static CompanyDictionary load(String resource) {
+        CompanyDictionary dictionary = new CompanyDictionary();
+        InputStream in = CompanyDictionary.class.getResourceAsStream(resource);
+        if (in == null) {
+            throw new IllegalStateException("Company dictionary not found on classpath: " + resource);
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            boolean bodyScope = true;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (line.equals("[subject-and-body]")) {
+                    bodyScope = true;
+                } else if (line.equals("[subject-only]")) {
+                    bodyScope = false;
+                } else {
+                    dictionary.add(line, bodyScope);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read company dictionary " + resource, e);
+        }
+        return dictionary;
+    }
+
+    private void add(String name, boolean bodyScope) {
+        Node node = root;
+        for (int i = 0; i < name.length(); i++) {
+            node = node.addChild(fold(name.charAt(i)));
+        }
+        if (!node.terminal) {
+            size++;
+        }
+        node.terminal = true;
+        node.bodyScope |= bodyScope;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * First known company in the text, as it appears in the text, or null
+     *
+     * @param includeSubjectOnly Also match names listed as [subject-only]
+     */
+    public String findFirst(CharSequence text, boolean includeSubjectOnly) {
+        if (text == null) {
+            return null;
+        }
+        int n = text.length();
+        for (int start = 0; start < n; start++) {
+            // Names only start on a word boundary
+            if (!isWordAt(text, start) || isWordBefore(text, start)) {
+                continue;
+            }
+            int end = longestMatchAt(text, start, includeSubjectOnly);
+            if (end > 0) {
+                return text.subSequence(start, end).toString();
+            }
+        }
+        return null;
+    }
+
+    private int longestMatchAt(CharSequence text, int start, boolean includeSubjectOnly) {
+        Node node = root;
+        int best = -1;
+        for (int i = start; i < text.length(); i++) {
+            node = node.child(fold(text.charAt(i)));
+            if (node == null) {
+                break;
+            }
+            boolean boundary = i + 1 == text.length() || !isWordAt(text, i + 1);
+            if (node.terminal && boundary && (includeSubjectOnly || node.bodyScope)) {
+                best = i + 1;
+            }
+        }
+        return best;
+    }
+
+    // Case folding of (?i) without UNICODE_CASE: ASCII letters only
+    private static char fold(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    // Word characters as regex \b sees them on Java 17: Unicode letters, digits and '_', plus
+    // combining marks attached to a letter or digit
+    private static boolean isWordAt(CharSequence text, int index) {
+        int cp = Character.codePointAt(text, index);
+        return isWord(cp) || (Character.getType(cp) == Character.NON_SPACING_MARK && hasBaseCharacter(text, index));
+    }
+
+    private static boolean isWordBefore(CharSequence text, int index) {
+        if (index == 0) {
+            return false;
+        }
+        int cp = Character.codePointBefore(text, index);
+        return isWord(cp) || (Character.getType(cp) == Character.NON_SPACING_MARK && hasBaseCharacter(text, index - 1));
+    }
+
+    private static boolean isWord(int cp) {
+        return cp == '_' || Character.isLetterOrDigit(cp);
+    }
+
+    private static boolean hasBaseCharacter(CharSequence text, int index) {
+        for (int i = index; i >= 0; i--) {
+            int cp = Character.codePointAt(text, i);
+            if (Character.isLetterOrDigit(cp)) {
+                return true;
+            }
+            if (Character.getType(cp) != Character.NON_SPACING_MARK) {
+                return false;
+            }
+        }
+        return false;
+    }
+}
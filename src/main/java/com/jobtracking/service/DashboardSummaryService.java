@@ -0,0 +1,152 @@
+package com.jobtracking.service;
+
+import com.jobtracking.repository.ApplicationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Dashboard counts per status, per week and per source, computed in the database with one
+ * aggregate query instead of loading the user's applications.
+ *
+ * With dashboard.status-counters.enabled, per-status counts come from application_status_counts,
+ * a per-user counter table kept current by triggers on applications; it is rebuilt on startup.
+ */
+@Service
+public class DashboardSummaryService {
+
+    private final ApplicationRepository applicationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int weeks;
+    private volatile boolean statusCountersEnabled;
+
+    public DashboardSummaryService(ApplicationRepository applicationRepository,
+                                   JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${dashboard.summary.weeks:12}") int weeks,
+                                   @Value("${dashboard.status-counters.enabled:false}") boolean statusCountersEnabled) {
+        this.applicationRepository = applicationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.weeks = weeks;
+        this.statusCountersEnabled = statusCountersEnabled;
+    }
+
+    /**
+     * totalApplications, byStatus, byWeek (last N weeks by Monday, oldest first, zero-filled)
+     * and bySource for the user
+     */
+    public Map<String, Object> summarize(UUID userId) {
+        LocalDate since = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).minusWeeks(weeks - 1);
+        List<Object[]> rows = statusCountersEnabled
+                ? applicationRepository.aggregateDashboardWithStatusCounters(userId, since)
+                : applicationRepository.aggregateDashboard(userId, since);
+
+        long total = 0;
+        Map<String, Long> byStatus = new HashMap<>();
+        Map<String, Long> byWeek = new LinkedHashMap<>();
+        Map<String, Long> bySource = new HashMap<>();
+        for (int i = 0; i < weeks; i++) {
+            byWeek.put(since.plusWeeks(i).toString(), 0L);
+        }
+
+        for (Object[] row : rows) {
+            String dimension = (String) row[0];
+            String bucket = row[1] != null ? row[1].toString() : null;
+            long count = ((Number) row[2]).longValue();
+            switch (dimension) {
+                case "status" -> {
+                    // Every application is in exactly one status group, including a null status
+                    total += count;
+                    if (bucket != null && count > 0) {
+                        byStatus.put(bucket, count);
+                    }
+                }
+                case "week" -> {
+                    if (bucket != null) {
+                        byWeek.put(bucket, count);
+                    }
+                }
+                default -> {
+                    if (bucket != null) {
+                        bySource.put(bucket, count);
+                    }
+                }
+            }
+        }
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("totalApplications", total);
+        summary.put("byStatus", byStatus);
+        summary.put("byWeek", byWeek);
+        summary.put("bySource", bySource);
+        return summary;
+    }
+
+    /**
+     * Install (or remove) the status counter triggers and rebuild the counters from applications
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepareStatusCounters() {
+        try {
+            if (!statusCountersEnabled) {
+                // Stop maintaining counters nobody reads; they are rebuilt when re-enabled
+                jdbcTemplate.execute("DROP TRIGGER IF EXISTS application_status_counts_insert_delete ON applications");
+                jdbcTemplate.execute("DROP TRIGGER IF EXISTS application_status_counts_update ON applications");
+                return;
+            }
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS application_status_counts (" +
+                    "user_id uuid NOT NULL, status varchar(255) NOT NULL, total bigint NOT NULL, " +
+                    "PRIMARY KEY (user_id, status))");
+            // A null status is counted under '' so totals stay exact
+            jdbcTemplate.execute("CREATE OR REPLACE FUNCTION application_status_counts_sync() RETURNS trigger " +
+                    "LANGUAGE plpgsql AS $$ BEGIN " +
+                    "IF TG_OP <> 'INSERT' AND OLD.user_id IS NOT NULL THEN " +
+                    "UPDATE application_status_counts SET total = total - 1 " +
+                    "WHERE user_id = OLD.user_id AND status = COALESCE(OLD.status, ''); " +
+                    "END IF; " +
+                    "IF TG_OP <> 'DELETE' AND NEW.user_id IS NOT NULL THEN " +
+                    "INSERT INTO application_status_counts (user_id, status, total) " +
+                    "VALUES (NEW.user_id, COALESCE(NEW.status, ''), 1) " +
+                    "ON CONFLICT (user_id, status) DO UPDATE SET total = application_status_counts.total + 1; " +
+                    "END IF; " +
+                    "RETURN NULL; END $$");
+
+            transactionTemplate.executeWithoutResult(tx -> {
+                jdbcTemplate.execute("DROP TRIGGER IF EXISTS application_status_counts_insert_delete ON applications");
+                jdbcTemplate.execute("DROP TRIGGER IF EXISTS application_status_counts_update ON applications");
+                jdbcTemplate.execute("CREATE TRIGGER application_status_counts_insert_delete " +
+                        "AFTER INSERT OR DELETE ON applications " +
+                        "FOR EACH ROW EXECUTE FUNCTION application_status_counts_sync()");
+                // Every entity save rewrites the status column, so only fire on an actual change
+                jdbcTemplate.execute("CREATE TRIGGER application_status_counts_update " +
+                        "AFTER UPDATE OF status, user_id ON applications FOR EACH ROW " +
+                        "WHEN (OLD.status IS DISTINCT FROM NEW.status OR OLD.user_id IS DISTINCT FROM NEW.user_id) " +
+                        "EXECUTE FUNCTION application_status_counts_sync()");
+                // Block application writes until the rebuilt counters are committed with the triggers
+                jdbcTemplate.execute("LOCK TABLE applications IN SHARE MODE");
+                jdbcTemplate.update("DELETE FROM application_status_counts");
+                jdbcTemplate.update("INSERT INTO application_status_counts (user_id, status, total) " +
+                        "SELECT user_id, COALESCE(status, ''), COUNT(*) FROM applications " +
+                        "WHERE user_id IS NOT NULL GROUP BY user_id, COALESCE(status, '')");
+            });
+            System.out.println("[Dashboard] Status counters rebuilt");
+        } catch (Exception e) {
+            System.err.println("[Dashboard] Status counters unavailable, using the aggregate query: " + e.getMessage());
+            statusCountersEnabled = false;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.jobtracking.service;
+
+import com.google.api.services.gmail.model.MessagePart;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Turns a Gmail message payload into plain text for the parsers.
+ *
+ * Walks the MIME tree preferring text/plain parts and only falls back to text/html when no
+ * plain part has content. Part data is base64url-decoded in small chunks straight into the
+ * output, HTML tags/entities are stripped in the same pass, and decoding stops once the byte
+ * budget is spent, so work and memory per message are bounded regardless of email size.
+ */
+@Component
+public class EmailBodyExtractor {
+
+    private static final int CHUNK_BYTES = 3 * 1024;
+
+    private final int maxBytes;
+
+    public EmailBodyExtractor(@Value("${gmail.body.max-bytes:65536}") int maxBytes) {
+        this.maxBytes = Math.max(1024, maxBytes);
+    }
+
+    /**
+     * Text of the message body, at most roughly max-bytes long
+     */
+    public String extract(MessagePart payload) {
+        Budget budget = new Budget(maxBytes);
+        StringBuilder out = new StringBuilder();
+        walk(payload, "text/plain", out, budget);
+        if (out.length() == 0) {
+            budget = new Budget(maxBytes);
+            walk(payload, "text/html", out, budget);
+        }
+        return out.toString().trim();
+    }
+
+    private void walk(MessagePart part, String mimeType, StringBuilder out, Budget budget) {
+        if (part == null || budget.exhausted()) {
+            return;
+        }
+        if (mimeType.equalsIgnoreCase(part.getMimeType()) && part.getBody() != null && part.getBody().getData() != null) {
+            TextSink sink = "text/html".equals(mimeType) ? new HtmlTextSink(out) : new PlainTextSink(out);
+            decode(part.getBody().getData(), sink, budget);
+            out.append(' ');
+        }
+        if (part.getParts() != null) {
+            for (MessagePart child : part.getParts()) {
+                walk(child, mimeType, out, budget);
+                if (budget.exhausted()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Base64url-decode the part data chunk by chunk, pushing UTF-8 characters into the sink
+     */
+    private void decode(String data, TextSink sink, Budget budget) {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        ByteBuffer bytes = ByteBuffer.allocate(CHUNK_BYTES);
+        CharBuffer chars = CharBuffer.allocate(CHUNK_BYTES);
+
+        int bits = 0;
+        int bitCount = 0;
+        for (int i = 0; i < data.length() && !budget.exhausted(); i++) {
+            int value = base64Value(data.charAt(i));
+            if (value < 0) {
+                continue; // padding, whitespace or garbage
+            }
+            bits = (bits << 6) | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                bytes.put((byte) (bits >> bitCount));
+                bits &= (1 << bitCount) - 1;
+                budget.spend(1);
+                if (!bytes.hasRemaining()) {
+                    flush(decoder, bytes, chars, sink, false);
+                }
+            }
+        }
+        flush(decoder, bytes, chars, sink, true);
+    }
+
+    private void flush(CharsetDecoder decoder, ByteBuffer bytes, CharBuffer chars, TextSink sink, boolean endOfInput) {
+        bytes.flip();
+        decoder.decode(bytes, chars, endOfInput);
+        if (endOfInput) {
+            decoder.flush(chars);
+        }
+        chars.flip();
+        while (chars.hasRemaining()) {
+            sink.accept(chars.get());
+        }
+        chars.clear();
+        // Keep any incomplete multi-byte sequence for the next chunk
+        bytes.compact();
+    }
+
+    // Accepts both the base64url alphabet Gmail uses and standard base64
+    private static int base64Value(char c) {
+        if (c >= 'A' && c <= 'Z') return c - 'A';
+        if (c >= 'a' && c <= 'z') return c - 'a' + 26;
+        if (c >= '0' && c <= '9') return c - '0' + 52;
+        if (c == '-' || c == '+') return 62;
+        if (c == '_' || c == '/') return 63;
+        return -1;
+    }
+
+    private static final class Budget {
+        private int remaining;
+
+        Budget(int remaining) {
+            this.remaining = remaining;
+        }
+
+        void spend(int bytes) {
+            remaining -= bytes;
+        }
+
+        boolean exhausted() {
+            return remaining <= 0;
+        }
+    }
+
+    private interface TextSink {
+        void accept(char c);
+    }
+
+    private static final class PlainTextSink implements TextSink {
+        private final StringBuilder out;
+
+        PlainTextSink(StringBuilder out) {
+            this.out = out;
+        }
+
+        @Override
+        public void accept(char c) {
+            out.append(c);
+        }
+    }
+
+    /**
+     * One-pass HTML to text: tags become a space, script/style content is dropped, common
+     * entities are decoded, and whitespace runs collapse to a single space.
+     */
+    private static final class HtmlTextSink implements TextSink {
+        private static final int MAX_ENTITY = 10;
+        private static final int MAX_TAG_NAME = 8;
+
+        private enum State { TEXT, TAG, ENTITY }
+
+        private final StringBuilder out;
+        private final StringBuilder entity = new StringBuilder(MAX_ENTITY);
+        private final StringBuilder tagName = new StringBuilder(MAX_TAG_NAME);
+        private State state = State.TEXT;
+        private boolean tagNameDone;
+        // Non-null while inside <script> or <style>; text is skipped until the matching close tag
+        private String skipUntilClose;
+
+        HtmlTextSink(StringBuilder out) {
+            this.out = out;
+        }
+
+        @Override
+        public void accept(char c) {
+            switch (state) {
+                case TEXT:
+                    if (c == '<') {
+                        state = State.TAG;
+                        tagName.setLength(0);
+                        tagNameDone = false;
+                    } else if (skipUntilClose != null) {
+                        // ignore script/style content
+                    } else if (c == '&') {
+                        state = State.ENTITY;
+                        entity.setLength(0);
+                    } else {
+                        emit(c);
+                    }
+                    break;
+                case TAG:
+                    if (c == '>') {
+                        endTag();
+                    } else if (!tagNameDone) {
+                        if (Character.isLetter(c) || (c == '/' && tagName.length() == 0)) {
+                            if (tagName.length() < MAX_TAG_NAME) {
+                                tagName.append(Character.toLowerCase(c));
+                            }
+                        } else if (tagName.length() > 0 || c != '!') {
+                            tagNameDone = true;
+                        }
+                    }
+                    break;
+                case ENTITY:
+                    if (c == ';') {
+                        emitEntity();
+                        state = State.TEXT;
+                    } else if (entity.length() < MAX_ENTITY && (Character.isLetterOrDigit(c) || c == '#')) {
+                        entity.append(c);
+                    } else {
+                        // Not an entity after all - emit it literally and reprocess this char
+                        emit('&');
+                        for (int i = 0; i < entity.length(); i++) {
+                            emit(entity.charAt(i));
+                        }
+                        state = State.TEXT;
+                        accept(c);
+                    }
+                    break;
+            }
+        }
+
+        private void endTag() {
+            state = State.TEXT;
+            String name = tagName.toString();
+            if (skipUntilClose != null) {
+                if (name.equals(skipUntilClose)) {
+                    skipUntilClose = null;
+                    emit(' ');
+                }
+                return;
+            }
+            if (name.equals("script") || name.equals("style")) {
+                skipUntilClose = "/" + name;
+            }
+            emit(' ');
+        }
+
+        private void emitEntity() {
+            String name = entity.toString();
+            switch (name) {
+                case "amp": emit('&'); return;
+                case "lt": emit('<'); return;
+                case "gt": emit('>'); return;
+                case "quot": emit('"'); return;
+                case "apos": emit('\''); return;
+                case "nbsp": emit(' '); return;
+                default:
+                    break;
+            }
+            if (name.startsWith("#")) {
+                try {
+                    int codePoint = name.length() > 1 && (name.charAt(1) == 'x' || name.charAt(1) == 'X')
+                            ? Integer.parseInt(name.substring(2), 16)
+                            : Integer.parseInt(name.substring(1));
+                    if (Character.isValidCodePoint(codePoint)) {
+                        for (char ch : Character.toChars(codePoint)) {
+                            emit(ch);
+                        }
+                        return;
+                    }
+                } catch (NumberFormatException ignored) {
+                    // fall through and keep the text as-is
+                }
+            }
+            emit('&');
+            for (int i = 0; i < name.length(); i++) {
+                emit(name.charAt(i));
+            }
+            emit(';');
+        }
+
+        private void emit(char c) {
+            if (Character.isWhitespace(c) || c == ' ') {
+                int len = out.length();
+                if (len > 0 && out.charAt(len - 1) == ' ') {
+                    return;
+                }
+                c = ' ';
+            }
+            out.append(c);
+        }
+    }
+}
@@ -7,21 +7,8 @@ import java.util.regex.Pattern;
 @Service
 public class EmailParserService {
 
-    private static final Pattern INTERVIEW_PATTERN = Pattern.compile(
-        "(?i)(interview|schedule a time|availability|coding challenge|technical screen|phone screen)"
-    );
-
-    private static final Pattern OFFER_PATTERN = Pattern.compile(
-        "(?i)(offer letter|congratulations|pleased to offer|welcome to the team)"
-    );
-
-    private static final Pattern REJECT_PATTERN = Pattern.compile(
-        "(?i)(we (have )?decided|unfortunately[, ]|not moving forward|pursue other candidates)"
-    );
-
-    private static final Pattern APPLIED_PATTERN = Pattern.compile(
-    "(?i)(application (received|submitted|confirmation|successfully|complete)|thank you for applying|we (have )?received your application|your application has been|application received|applied (for|to)|confirmation of your application|received your application|has received your application)"
-    );
+    // OFFER / REJECTED / INTERVIEW / APPLIED keywords, matched in one pass over the email
+    private static final StatusKeywordMatcher STATUS_MATCHER = StatusKeywordMatcher.defaultMatcher();
 
     // Company extraction patterns
     private static final Pattern COMPANY_FROM_PATTERN = Pattern.compile(
@@ -43,16 +30,99 @@ public class EmailParserService {
             Pattern.CASE_INSENSITIVE
     );
 
-    public String determineStatus(String subject, String body) {
-        String content = (subject + " " + body).toLowerCase();
+    // Known employers, matched with a trie instead of a regex alternation
+    private static final CompanyDictionary KNOWN_COMPANIES = CompanyDictionary.load("/companies.txt");
 
-        // Priority: OFFER > REJECTED > INTERVIEW > APPLIED
-        if (OFFER_PATTERN.matcher(content).find()) return "OFFER";
-        if (REJECT_PATTERN.matcher(content).find()) return "REJECTED";
-        if (INTERVIEW_PATTERN.matcher(content).find()) return "INTERVIEW";
-        if (APPLIED_PATTERN.matcher(content).find()) return "APPLIED";
+    // "Company Role ..." at the start of a subject
+    private static final Pattern COMPANY_NAME_PATTERN = Pattern.compile(
+            "^\\s*\\b([A-Z][a-zA-Z]+(?:\\s+[A-Z][a-zA-Z]+)*?)\\s+(?:Software|Senior|Junior|Product|Data|Frontend|Backend|Full\\s+Stack|DevOps|SRE|Machine\\s+Learning|UI/UX|UX|Product|Intern|Internship|Engineer|Engineering|Developer|Manager|Scientist|Designer|Analyst|Consultant|Specialist|Lead|Director|Coordinator|Associate|Assistant|Interview|Application|Offer|Rejected|Job|Position|Role|Opening)",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    private static final Pattern FIRST_WORD_PATTERN = Pattern.compile(
+            "^\\s*\\b([A-Z][a-zA-Z]+)\\b",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    private static final Pattern NOT_A_COMPANY_PATTERN = Pattern.compile(
+            "(?i)^(Your|The|This|Our|We|I|You|Hello|Hi|Thank)$"
+    );
+
+    private static final Pattern COMPANY_SUFFIX_PATTERN = Pattern.compile(
+            "(?i)\\s+(team|recruiting|careers|jobs|hr)$"
+    );
+
+    private static final Pattern FREEMAIL_DOMAIN_PATTERN = Pattern.compile(
+            "(?i)(gmail|yahoo|hotmail|outlook|icloud|aol|mail)\\.com"
+    );
+
+    // "Company Job Title - Something"; a listed company is just another capitalized word here
+    private static final Pattern COMPANY_TITLE_PATTERN = Pattern.compile(
+            "(?i)^\\s*\\b[A-Z][a-zA-Z]+\\s+(.+?)(?=\\s*-\\s*|\\s+at\\s+|$)",
+            Pattern.CASE_INSENSITIVE
+    );
 
-        return null;
+    private static final Pattern TITLE_TRAILING_WORDS_PATTERN = Pattern.compile(
+            "(?i)\\s+\\b(interview|invitation|application\\s+received|application\\s+confirmation|offer\\s+letter|rejected|job|position|role|opening|opportunity|received|confirmation).*$"
+    );
+
+    private static final Pattern SINGLE_WORD_PATTERN = Pattern.compile("^[A-Z][a-z]+$");
+
+    private static final Pattern TITLE_AT_COMPANY_PATTERN = Pattern.compile(
+            "([A-Z][A-Za-z]+(?:\\s+[A-Z][A-Za-z]+){0,3}?\\s+(?:Software|Senior|Junior|Product|Data|Frontend|Backend|Full\\s+Stack|DevOps|SRE|Machine\\s+Learning|UI/UX|UX|Product|Intern|Internship|Engineer|Engineering|Developer|Manager|Scientist|Designer|Analyst|Consultant|Specialist|Lead|Director|Coordinator|Associate|Assistant))\\s+(?:at|\\-)\\s+",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    private static final Pattern SUBJECT_TITLE_AT_PATTERN = Pattern.compile(
+            "([A-Z][A-Za-z]+(?:\\s+[A-Z][A-Za-z]+){1,4}?)\\s+(?:Internship|Engineer|Developer|Manager|Analyst|Designer|Consultant|Specialist|Lead|Director|Coordinator|Associate|Assistant)\\s+at\\s+",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    private static final Pattern AT_SUFFIX_PATTERN = Pattern.compile("\\s+at\\s+.*$");
+
+    private static final Pattern FULL_TITLE_PATTERN = Pattern.compile(
+            "(?i)\\b([A-Z][A-Za-z]+(?:\\s+[A-Z][A-Za-z]+)*?\\s+(?:software|senior|junior|product|data|frontend|backend|full\\s+stack|devops|sre|machine\\s+learning|ui/ux|ux|product|intern|internship|engineer|developer|manager|scientist|engineer|designer|analyst|consultant))",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * Status, company and title extracted from one email
+     */
+    public static final class ParseResult {
+        private final String status;
+        private final String company;
+        private final String jobTitle;
+
+        public ParseResult(String status, String company, String jobTitle) {
+            this.status = status;
+            this.company = company;
+            this.jobTitle = jobTitle;
+        }
+
+        // OFFER, REJECTED, INTERVIEW, APPLIED or null
+        public String getStatus() { return status; }
+        public String getCompany() { return company; }
+        public String getJobTitle() { return jobTitle; }
+    }
+
+    /**
+     * Run the whole extraction pipeline for one email.
+     * The subject + body text used by the body fallbacks is built once and shared.
+     */
+    public ParseResult parse(String sender, String subject, String body) {
+        String content = joinContent(subject, body);
+        return new ParseResult(
+                determineStatus(subject, body),
+                extractCompanyFromContent(sender, subject, content),
+                extractJobTitleFromContent(subject, body, content)
+        );
+    }
+
+    public String determineStatus(String subject, String body) {
+        // Priority: OFFER > REJECTED > INTERVIEW > APPLIED
+        return STATUS_MATCHER.determineStatus(subject, body);
     }
 
     /**
@@ -60,34 +130,26 @@ public class EmailParserService {
      * Priority: subject line > sender domain > body patterns > fallback
      */
     public String extractCompany(String sender, String subject, String body) {
+        return extractCompanyFromContent(sender, subject, joinContent(subject, body));
+    }
+
+    private String extractCompanyFromContent(String sender, String subject, String content) {
         String company = null;
 
         // Strategy 1: Look for known companies in SUBJECT LINE first
         if (subject != null && !subject.trim().isEmpty()) {
-            Pattern knownCompanies = Pattern.compile(
-                    "(?i)\\b(google|amazon|microsoft|meta|facebook|apple|netflix|tesla|" +
-                            "uber|lyft|airbnb|stripe|spotify|twitter|linkedin|salesforce|oracle|" +
-                            "adobe|nvidia|intel|ibm|cisco|paypal|ebay|snap|pinterest|" +
-                            "nutanix|qualcomm|vmware|red hat|mongo db|databricks|snowflake|palantir|" +
-                            "goldman sachs|jpmorgan|morgan stanley|bank of america|wells fargo|" +
-                            "mckinsey|bain|boston consulting|deloitte|pwc|ey|kpmg|" +
-                            "accenture|capgemini|infosys|tcs|wipro)\\b",
-                    Pattern.CASE_INSENSITIVE
-            );
-
-            Matcher matcher = knownCompanies.matcher(subject);
-            if (matcher.find()) {
-                company = matcher.group(1);
+            company = KNOWN_COMPANIES.findFirst(subject, true);
+            if (company != null) {
                 return capitalizeWords(company);
             }
 
             // Strategy 1b: Look for "from/at/with [Company]" patterns in subject
-            matcher = COMPANY_FROM_PATTERN.matcher(subject);
+            Matcher matcher = COMPANY_FROM_PATTERN.matcher(subject);
             if (matcher.find() && matcher.groupCount() >= 2) {
                 company = matcher.group(2).trim();
                 company = capitalizeWords(company);
                 // Clean up common suffixes
-                company = company.replaceAll("(?i)\\s+(team|recruiting|careers|jobs|hr)$", "");
+                company = COMPANY_SUFFIX_PATTERN.matcher(company).replaceAll("");
                 if (company.length() > 2) {
                     return company;
                 }
@@ -96,26 +158,18 @@ public class EmailParserService {
             // Strategy 1c: Extract first capitalized word/phrase from subject (common pattern: "Company Name ...")
             // This catches companies like "Nutanix", "Qualcomm", etc. that aren't in the known list
             // Match capitalized words at the start before job-related keywords
-            Pattern companyNamePattern = Pattern.compile(
-                    "^\\s*\\b([A-Z][a-zA-Z]+(?:\\s+[A-Z][a-zA-Z]+)*?)\\s+(?:Software|Senior|Junior|Product|Data|Frontend|Backend|Full\\s+Stack|DevOps|SRE|Machine\\s+Learning|UI/UX|UX|Product|Intern|Internship|Engineer|Engineering|Developer|Manager|Scientist|Designer|Analyst|Consultant|Specialist|Lead|Director|Coordinator|Associate|Assistant|Interview|Application|Offer|Rejected|Job|Position|Role|Opening)",
-                    Pattern.CASE_INSENSITIVE
-            );
-            matcher = companyNamePattern.matcher(subject);
+            matcher = COMPANY_NAME_PATTERN.matcher(subject);
             if (matcher.find()) {
                 company = matcher.group(1).trim();
                 // Skip if it's a common word that's not a company (but allow longer names)
-                if (company.length() > 2 && !company.matches("(?i)^(Your|The|This|Our|We|I|You|Hello|Hi|Thank)$")) {
+                if (company.length() > 2 && !NOT_A_COMPANY_PATTERN.matcher(company).matches()) {
                     return capitalizeWords(company);
                 }
             }
             
             // Strategy 1d: More flexible - extract any capitalized word at start of subject
             // This catches companies that appear at the very beginning
-            Pattern firstWordPattern = Pattern.compile(
-                    "^\\s*\\b([A-Z][a-zA-Z]+)\\b",
-                    Pattern.CASE_INSENSITIVE
-            );
-            matcher = firstWordPattern.matcher(subject);
+            matcher = FIRST_WORD_PATTERN.matcher(subject);
             if (matcher.find()) {
                 company = matcher.group(1).trim();
                 // Only use if it looks like a company name (longer than 2 chars, capitalized)
@@ -130,9 +184,10 @@ public class EmailParserService {
             String domain = sender.substring(sender.indexOf("@") + 1);
 
             // Remove common email providers
-            if (!domain.matches("(?i)(gmail|yahoo|hotmail|outlook|icloud|aol|mail)\\.com")) {
+            if (!FREEMAIL_DOMAIN_PATTERN.matcher(domain).matches()) {
                 // Extract company from domain (e.g., hr@google.com → Google)
-                company = domain.split("\\.")[0];
+                int dot = domain.indexOf('.');
+                company = dot >= 0 ? domain.substring(0, dot) : domain;
                 company = capitalizeWords(company);
 
                 // If looks valid, return it
@@ -143,7 +198,6 @@ public class EmailParserService {
         }
 
         // Strategy 3: Look for "from/at/with [Company]" patterns in subject + body
-        String content = (subject != null ? subject : "") + " " + (body != null ? body : "");
         Matcher matcher = COMPANY_FROM_PATTERN.matcher(content);
 
         if (matcher.find() && matcher.groupCount() >= 2) {
@@ -151,7 +205,7 @@ public class EmailParserService {
             company = capitalizeWords(company);
 
             // Clean up common suffixes
-            company = company.replaceAll("(?i)\\s+(team|recruiting|careers|jobs|hr)$", "");
+            company = COMPANY_SUFFIX_PATTERN.matcher(company).replaceAll("");
 
             if (company.length() > 2) {
                 return company;
@@ -159,17 +213,8 @@ public class EmailParserService {
         }
 
         // Strategy 4: Fallback - look for known company patterns in full content
-        Pattern knownCompanies = Pattern.compile(
-                "(?i)\\b(google|amazon|microsoft|meta|facebook|apple|netflix|tesla|" +
-                        "uber|lyft|airbnb|stripe|spotify|twitter|linkedin|salesforce|oracle|" +
-                        "adobe|nvidia|intel|ibm|cisco|paypal|ebay|snap|pinterest|" +
-                        "nutanix|qualcomm|vmware|red hat|mongo db|databricks|snowflake|palantir)\\b",
-                Pattern.CASE_INSENSITIVE
-        );
-
-        matcher = knownCompanies.matcher(content);
-        if (matcher.find()) {
-            company = matcher.group(1);
+        company = KNOWN_COMPANIES.findFirst(content, false);
+        if (company != null) {
             return capitalizeWords(company);
         }
 
@@ -182,51 +227,43 @@ public class EmailParserService {
      * Priority: subject line > body patterns
      */
     public String extractJobTitle(String subject, String body) {
+        return extractJobTitleFromContent(subject, body, joinContent(subject, body));
+    }
+
+    private String extractJobTitleFromContent(String subject, String body, String content) {
         // Strategy 1: Extract from subject line first (most reliable)
         if (subject != null && !subject.trim().isEmpty()) {
             // Pattern 1: "Company Job Title - Something" 
             // Example: "Microsoft Software Engineering Internship - Interview Invitation"
             // Extract everything after company name until dash or "at" or end
             // This is simpler and more reliable for multi-word titles
-            Pattern companyTitlePattern = Pattern.compile(
-                    "(?i)^\\s*\\b(?:google|amazon|microsoft|meta|facebook|apple|netflix|tesla|uber|lyft|airbnb|stripe|spotify|twitter|linkedin|salesforce|oracle|adobe|nvidia|intel|ibm|cisco|paypal|ebay|snap|pinterest|nutanix|qualcomm|vmware|[A-Z][a-zA-Z]+)\\s+(.+?)(?=\\s*-\\s*|\\s+at\\s+|$)",
-                    Pattern.CASE_INSENSITIVE
-            );
-            Matcher matcher = companyTitlePattern.matcher(subject);
+            Matcher matcher = COMPANY_TITLE_PATTERN.matcher(subject);
             if (matcher.find()) {
                 String title = matcher.group(1).trim();
                 // Clean up extra spaces
-                title = title.replaceAll("\\s+", " ").trim();
+                title = WHITESPACE.matcher(title).replaceAll(" ").trim();
                 // Remove common trailing words that aren't part of the title
                 // Use word boundaries to avoid removing words that are part of the title itself
-                title = title.replaceAll("(?i)\\s+\\b(interview|invitation|application\\s+received|application\\s+confirmation|offer\\s+letter|rejected|job|position|role|opening|opportunity|received|confirmation).*$", "");
+                title = TITLE_TRAILING_WORDS_PATTERN.matcher(title).replaceAll("");
                 title = title.trim();
                 // Make sure we got something meaningful (not just a single word that might be a company name)
                 // Allow short titles like "UX Designer" (10 chars) but not single words
-                if (title.length() > 3 && !title.matches("^[A-Z][a-z]+$")) {
+                if (title.length() > 3 && !SINGLE_WORD_PATTERN.matcher(title).matches()) {
                     return capitalizeWords(title);
                 }
             }
 
             // Pattern 1b: "Job Title at Company" or "Job Title - Company"
-            Pattern titleAtCompanyPattern = Pattern.compile(
-                    "([A-Z][A-Za-z]+(?:\\s+[A-Z][A-Za-z]+){0,3}?\\s+(?:Software|Senior|Junior|Product|Data|Frontend|Backend|Full\\s+Stack|DevOps|SRE|Machine\\s+Learning|UI/UX|UX|Product|Intern|Internship|Engineer|Engineering|Developer|Manager|Scientist|Designer|Analyst|Consultant|Specialist|Lead|Director|Coordinator|Associate|Assistant))\\s+(?:at|\\-)\\s+",
-                    Pattern.CASE_INSENSITIVE
-            );
-            matcher = titleAtCompanyPattern.matcher(subject);
+            matcher = TITLE_AT_COMPANY_PATTERN.matcher(subject);
             if (matcher.find()) {
                 String title = matcher.group(1).trim();
                 return capitalizeWords(title);
             }
 
             // Pattern 2: Look for "Job Title at Company" in subject
-            Pattern subjectPattern2 = Pattern.compile(
-                    "([A-Z][A-Za-z]+(?:\\s+[A-Z][A-Za-z]+){1,4}?)\\s+(?:Internship|Engineer|Developer|Manager|Analyst|Designer|Consultant|Specialist|Lead|Director|Coordinator|Associate|Assistant)\\s+at\\s+",
-                    Pattern.CASE_INSENSITIVE
-            );
-            matcher = subjectPattern2.matcher(subject);
+            matcher = SUBJECT_TITLE_AT_PATTERN.matcher(subject);
             if (matcher.find()) {
-                String title = matcher.group(0).replaceAll("\\s+at\\s+.*$", "").trim();
+                String title = AT_SUFFIX_PATTERN.matcher(matcher.group(0)).replaceAll("").trim();
                 return capitalizeWords(title);
             }
 
@@ -234,11 +271,7 @@ public class EmailParserService {
             matcher = DIRECT_TITLE_PATTERN.matcher(subject);
             if (matcher.find()) {
                 // Try to get the full phrase including modifiers
-                Pattern fullTitlePattern = Pattern.compile(
-                        "(?i)\\b([A-Z][A-Za-z]+(?:\\s+[A-Z][A-Za-z]+)*?\\s+(?:software|senior|junior|product|data|frontend|backend|full\\s+stack|devops|sre|machine\\s+learning|ui/ux|ux|product|intern|internship|engineer|developer|manager|scientist|engineer|designer|analyst|consultant))",
-                        Pattern.CASE_INSENSITIVE
-                );
-                Matcher fullMatcher = fullTitlePattern.matcher(subject);
+                Matcher fullMatcher = FULL_TITLE_PATTERN.matcher(subject);
                 if (fullMatcher.find()) {
                     return capitalizeWords(fullMatcher.group(1));
                 }
@@ -248,7 +281,6 @@ public class EmailParserService {
 
         // Strategy 2: Look in body for "position: [Title]" or "role: [Title]"
         if (body != null && !body.trim().isEmpty()) {
-            String content = (subject != null ? subject : "") + " " + body;
             Matcher matcher = JOB_TITLE_PATTERN.matcher(content);
             if (matcher.find() && matcher.groupCount() >= 2) {
                 String title = matcher.group(2).trim();
@@ -275,13 +307,18 @@ public class EmailParserService {
         return "Unknown Position";
     }
 
+    // Subject and body joined the way the body fallbacks expect (null parts become empty)
+    private static String joinContent(String subject, String body) {
+        return (subject != null ? subject : "") + " " + (body != null ? body : "");
+    }
+
     /**
      * Capitalize first letter of each word
      */
     private String capitalizeWords(String text) {
         if (text == null || text.isEmpty()) return text;
 
-        String[] words = text.toLowerCase().split("\\s+");
+        String[] words = WHITESPACE.split(text.toLowerCase());
         StringBuilder result = new StringBuilder();
 
         for (String word : words) {
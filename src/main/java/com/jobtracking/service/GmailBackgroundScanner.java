@@ -2,9 +2,11 @@ package com.jobtracking.service;
 
 import com.google.api.client.auth.oauth2.BearerToken;
 import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.auth.oauth2.CredentialRefreshListener;
+import com.google.api.client.auth.oauth2.TokenErrorResponse;
+import com.google.api.client.auth.oauth2.TokenResponse;
 import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeFlow;
 import com.google.api.client.googleapis.auth.oauth2.GoogleClientSecrets;
-import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
 import com.google.api.client.http.GenericUrl;
 import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.json.JsonFactory;
@@ -12,6 +14,14 @@ import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.client.util.store.FileDataStoreFactory;
 import com.google.api.services.gmail.Gmail;
 import com.google.api.services.gmail.GmailScopes;
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.services.gmail.model.History;
+import com.google.api.services.gmail.model.HistoryMessageAdded;
+import com.google.api.services.gmail.model.ListHistoryResponse;
 import com.google.api.services.gmail.model.ListMessagesResponse;
 import com.google.api.services.gmail.model.Message;
 
@@ -21,92 +31,152 @@ import com.jobtracking.model.User;
 import com.jobtracking.repository.ApplicationRepository;
 import com.jobtracking.repository.EmailSyncStateRepository;
 import com.jobtracking.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.io.FileInputStream;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.math.BigInteger;
 import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
 
 @Service
 public class GmailBackgroundScanner {
 
     private static final String APPLICATION_NAME = "Job Tracking App";
     private static final JsonFactory JSON_FACTORY = GsonFactory.getDefaultInstance();
+    private static final long SCAN_PERIOD_MS = 60000;
+    // Refresh a little before Google's one-hour expiry so a scan never starts with a dead token
+    private static final long TOKEN_REFRESH_MARGIN_SECONDS = 300;
+    private static final String JOB_QUERY =
+            "is:unread (application OR job OR interview OR offer OR rejected OR position OR role OR hiring)";
+    // Full sync looks at the 5 most recent matches; delta syncs can pick up a larger burst
+    private static final long FULL_SYNC_RESULTS = 5;
+    private static final long MAX_DELTA_RESULTS = 100;
+    // Gmail allows 100 calls per batch but recommends staying at or below 50
+    private static final int BATCH_CHUNK_SIZE = 50;
+    // Scans that may retry a message the history cursor has already moved past
+    private static final int MAX_MESSAGE_ATTEMPTS = 5;
+    private static final List<String> TRIAGE_HEADERS = Arrays.asList("Subject", "From");
+    private static final Pattern TRIAGE_SUBJECT_PATTERN = Pattern.compile(
+            "\\b(application|applied|applying|interview|offer|position|role|candida\\w*|hiring|recruit\\w*|opportunit\\w*|job)\\b",
+            Pattern.CASE_INSENSITIVE
+    );
     private static final List<String> SCOPES =
             Collections.singletonList(GmailScopes.GMAIL_READONLY);
 
     private final ApplicationRepository applicationRepository;
+    private final ApplicationMatcher applicationMatcher;
     private final EmailParserService emailParserService;
     private final EmailSyncStateRepository emailSyncStateRepository;
     private final LLMEmailParserService llmEmailParserService;
     private final UserRepository userRepository;
+    private final ProcessedEmailLedger processedEmailLedger;
+    private final EmailBodyExtractor emailBodyExtractor;
+    private final NetHttpTransport httpTransport;
+    private final Map<UUID, CachedGmailClient> gmailClients;
+    private volatile GoogleClientSecrets clientSecrets;
+
+    // Global cap on concurrent user scans; each user is in flight at most once
+    private final ExecutorService scanExecutor;
+    private final Set<UUID> inFlightUserIds = ConcurrentHashMap.newKeySet();
+    // LLM follow-ups waiting for the user's in-flight slot; run by whoever holds it.
+    // Queues are only touched inside compute calls and removed once empty.
+    private final Map<UUID, Queue<Runnable>> pendingFollowUps = new ConcurrentHashMap<>();
+    private volatile long lastTickMillis = -1;
 
     public GmailBackgroundScanner(ApplicationRepository applicationRepository,
+                                  ApplicationMatcher applicationMatcher,
                                   EmailParserService emailParserService,
                                   EmailSyncStateRepository emailSyncStateRepository,
                                   LLMEmailParserService llmEmailParserService,
-                                  UserRepository userRepository) {
+                                  UserRepository userRepository,
+                                  ProcessedEmailLedger processedEmailLedger,
+                                  EmailBodyExtractor emailBodyExtractor,
+                                  NetHttpTransport googleHttpTransport,
+                                  @Value("${gmail.scan.concurrency:8}") int scanConcurrency,
+                                  @Value("${gmail.scan.client-cache.max-users:1000}") int maxCachedClients) {
         this.applicationRepository = applicationRepository;
+        this.applicationMatcher = applicationMatcher;
         this.emailParserService = emailParserService;
         this.emailSyncStateRepository = emailSyncStateRepository;
         this.llmEmailParserService = llmEmailParserService;
         this.userRepository = userRepository;
+        this.processedEmailLedger = processedEmailLedger;
+        this.emailBodyExtractor = emailBodyExtractor;
+        this.httpTransport = googleHttpTransport;
+        // Access-ordered LRU so cached clients stay bounded by recently scanned users
+        this.gmailClients = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, CachedGmailClient> eldest) {
+                return size() > maxCachedClients;
+            }
+        });
+        AtomicInteger threadCount = new AtomicInteger();
+        this.scanExecutor = Executors.newFixedThreadPool(Math.max(1, scanConcurrency), r -> {
+            Thread t = new Thread(r, "gmail-scan-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
     }
 
     /**
      * Get Gmail service for a specific user using their stored OAuth tokens.
-     * Always tries to refresh the token since access tokens expire after ~1 hour.
+     * The client and credential are cached per user; the token is only refreshed when it is
+     * unknown or about to expire, and refreshed access tokens are written back as a single column.
      */
     private Gmail getGmailServiceForUser(User user) throws Exception {
         if (user.getGoogleAccessToken() == null || user.getGoogleAccessToken().isEmpty()) {
             System.out.println("[GmailScanner] No access token for user: " + user.getUsername());
+            gmailClients.remove(user.getId());
             return null;
         }
-
-        final NetHttpTransport HTTP_TRANSPORT = GoogleNetHttpTransport.newTrustedTransport();
-
-        // Load client secrets for token refresh
-        InputStream in = GmailBackgroundScanner.class.getResourceAsStream("/credentials.json");
-        if (in == null) {
-            in = new FileInputStream("src/main/resources/credentials.json");
+        if (user.getGoogleRefreshToken() == null || user.getGoogleRefreshToken().isEmpty()) {
+            System.out.println("[GmailScanner] No refresh token for user: " + user.getUsername() + " - user needs to reconnect Gmail");
+            gmailClients.remove(user.getId());
+            return null; // Can't proceed without refresh token
         }
-        GoogleClientSecrets clientSecrets = GoogleClientSecrets.load(JSON_FACTORY, new InputStreamReader(in));
 
-        // Create credential from user's stored tokens
-        Credential credential = new Credential.Builder(BearerToken.authorizationHeaderAccessMethod())
-                .setTransport(HTTP_TRANSPORT)
-                .setJsonFactory(JSON_FACTORY)
-                .setTokenServerUrl(new GenericUrl("https://oauth2.googleapis.com/token"))
-                .setClientAuthentication(new com.google.api.client.auth.oauth2.ClientParametersAuthentication(
-                        clientSecrets.getDetails().getClientId(),
-                        clientSecrets.getDetails().getClientSecret()))
-                .build();
-
-        credential.setAccessToken(user.getGoogleAccessToken());
-        if (user.getGoogleRefreshToken() != null) {
-            credential.setRefreshToken(user.getGoogleRefreshToken());
+        // Reuse the cached client unless the user reconnected with a different refresh token
+        CachedGmailClient client = gmailClients.get(user.getId());
+        if (client == null || !client.refreshToken.equals(user.getGoogleRefreshToken())) {
+            client = buildGmailClient(user);
+            gmailClients.put(user.getId(), client);
         }
 
-        // Always try to refresh the token (access tokens expire after ~1 hour)
-        if (user.getGoogleRefreshToken() != null && !user.getGoogleRefreshToken().isEmpty()) {
+        // Refresh only when we don't know the expiry yet (fresh credential) or it is close
+        Long expiresIn = client.credential.getExpiresInSeconds();
+        if (expiresIn == null || expiresIn < TOKEN_REFRESH_MARGIN_SECONDS) {
             try {
                 System.out.println("[GmailScanner] Refreshing access token for user: " + user.getUsername());
-                credential.refreshToken();
-                // Save new access token back to user
-                String newToken = credential.getAccessToken();
-                if (newToken != null && !newToken.equals(user.getGoogleAccessToken())) {
-                    user.setGoogleAccessToken(newToken);
-                    userRepository.save(user);
-                    System.out.println("[GmailScanner] Token refreshed successfully for: " + user.getUsername());
-                }
+                client.credential.refreshToken();
             } catch (Exception e) {
                 // If refresh fails with 401, the refresh token is invalid - user needs to reconnect
                 if (e.getMessage() != null && e.getMessage().contains("401")) {
                     System.err.println("[GmailScanner] ⚠ Invalid refresh token for " + user.getUsername() + " - user needs to reconnect Gmail integration");
+                    gmailClients.remove(user.getId());
                     // Clear invalid tokens so we don't keep trying
                     user.setGoogleAccessToken(null);
                     user.setGoogleRefreshToken(null);
@@ -118,55 +188,169 @@ public class GmailBackgroundScanner {
                     // Continue with existing token - it might still work for a bit
                 }
             }
-        } else {
-            System.out.println("[GmailScanner] No refresh token for user: " + user.getUsername() + " - user needs to reconnect Gmail");
-            return null; // Can't proceed without refresh token
         }
 
-        return new Gmail.Builder(HTTP_TRANSPORT, JSON_FACTORY, credential)
+        return client.gmail;
+    }
+
+    private CachedGmailClient buildGmailClient(User user) throws Exception {
+        GoogleClientSecrets clientSecrets = getClientSecrets();
+        UUID userId = user.getId();
+        String username = user.getUsername();
+
+        // Create credential from user's stored tokens
+        Credential credential = new Credential.Builder(BearerToken.authorizationHeaderAccessMethod())
+                .setTransport(httpTransport)
+                .setJsonFactory(JSON_FACTORY)
+                .setTokenServerUrl(new GenericUrl("https://oauth2.googleapis.com/token"))
+                .setClientAuthentication(new com.google.api.client.auth.oauth2.ClientParametersAuthentication(
+                        clientSecrets.getDetails().getClientId(),
+                        clientSecrets.getDetails().getClientSecret()))
+                // Persist every refresh, including the ones the client does on its own before a request
+                .addRefreshListener(new CredentialRefreshListener() {
+                    @Override
+                    public void onTokenResponse(Credential refreshed, TokenResponse tokenResponse) {
+                        userRepository.updateGoogleAccessToken(userId, refreshed.getAccessToken());
+                        System.out.println("[GmailScanner] Token refreshed successfully for: " + username);
+                    }
+
+                    @Override
+                    public void onTokenErrorResponse(Credential refreshed, TokenErrorResponse tokenErrorResponse) {
+                        System.err.println("[GmailScanner] Token refresh rejected for " + username + ": "
+                                + (tokenErrorResponse != null ? tokenErrorResponse.getError() : "unknown error"));
+                    }
+                })
+                .build();
+
+        credential.setAccessToken(user.getGoogleAccessToken());
+        credential.setRefreshToken(user.getGoogleRefreshToken());
+
+        Gmail gmail = new Gmail.Builder(httpTransport, JSON_FACTORY, credential)
                 .setApplicationName(APPLICATION_NAME)
                 .build();
+        return new CachedGmailClient(credential, gmail, user.getGoogleRefreshToken());
+    }
+
+    /**
+     * OAuth client secrets, read from credentials.json once
+     */
+    private GoogleClientSecrets getClientSecrets() throws Exception {
+        GoogleClientSecrets secrets = clientSecrets;
+        if (secrets == null) {
+            synchronized (this) {
+                secrets = clientSecrets;
+                if (secrets == null) {
+                    InputStream in = GmailBackgroundScanner.class.getResourceAsStream("/credentials.json");
+                    if (in == null) {
+                        in = new FileInputStream("src/main/resources/credentials.json");
+                    }
+                    try (InputStreamReader reader = new InputStreamReader(in)) {
+                        secrets = GoogleClientSecrets.load(JSON_FACTORY, reader);
+                    }
+                    clientSecrets = secrets;
+                }
+            }
+        }
+        return secrets;
+    }
+
+    private static final class CachedGmailClient {
+        final Credential credential;
+        final Gmail gmail;
+        final String refreshToken;
+
+        CachedGmailClient(Credential credential, Gmail gmail, String refreshToken) {
+            this.credential = credential;
+            this.gmail = gmail;
+            this.refreshToken = refreshToken;
+        }
     }
 
     /**
      * Background email scanner.
      * Runs every 60 seconds, scans emails for users who are currently logged in (active within last 5 minutes).
+     * Users are scanned in parallel on the scan pool; the scheduler thread only submits work, so a slow
+     * tick never delays the next one. A user still being scanned from an earlier tick is skipped.
      */
-    @Scheduled(fixedRate = 60000) // Run every 60 seconds
+    @Scheduled(fixedRate = SCAN_PERIOD_MS) // Run every 60 seconds
     public void scanInbox() {
         System.out.println("[GmailScanner] ===== SCAN TRIGGERED AT " + java.time.LocalDateTime.now() + " =====");
-        
-        // Find all users with Gmail enabled and access tokens
-        List<User> users = userRepository.findAll();
-        
-        // Only scan users who have been active in the last 5 minutes (currently logged in)
+
+        // Only scan users who have been active in the last 5 minutes (currently logged in).
+        // The filter runs in the database so the tick only loads users it will actually scan
         java.time.LocalDateTime cutoffTime = java.time.LocalDateTime.now().minusMinutes(5);
-        
-        int scannedCount = 0;
-        for (User user : users) {
-            if (user.isGoogleGmailEnabled() && 
-                user.getGoogleAccessToken() != null && 
-                !user.getGoogleAccessToken().isEmpty()) {
-                
-                // Check if user has been active very recently (updatedAt within last 5 minutes)
-                if (user.getUpdatedAt() != null && user.getUpdatedAt().isAfter(cutoffTime)) {
-                    System.out.println("[GmailScanner] Scanning for currently logged-in user: " + user.getUsername() + " (" + user.getEmail() + ")");
-                    scanInboxForUser(user);
-                    scannedCount++;
-                } else {
-                    // Silently skip inactive users - they're not logged in
-                    if (scannedCount == 0 && user.getUpdatedAt() != null) {
-                        System.out.println("[GmailScanner] User " + user.getUsername() + " not currently logged in (last active: " + user.getUpdatedAt() + ")");
+        List<UUID> userIds = userRepository.findGmailScanCandidateIds(cutoffTime);
+
+        if (userIds.isEmpty()) {
+            System.out.println("[GmailScanner] No currently logged-in users with Gmail enabled. Login and connect Gmail to scan emails.");
+            return;
+        }
+
+        List<UUID> toScan = new ArrayList<>(userIds.size());
+        for (UUID userId : userIds) {
+            if (inFlightUserIds.add(userId)) {
+                toScan.add(userId);
+            }
+        }
+        int skipped = userIds.size() - toScan.size();
+        if (skipped > 0) {
+            System.out.println("[GmailScanner] ⚠ " + skipped + " users still being scanned from a previous tick - skipping them");
+        }
+        if (toScan.isEmpty()) {
+            return;
+        }
+
+        long tickStart = System.nanoTime();
+        AtomicInteger remaining = new AtomicInteger(toScan.size());
+        for (UUID userId : toScan) {
+            scanExecutor.execute(() -> {
+                try {
+                    User user = userRepository.findById(userId).orElse(null);
+                    if (user != null) {
+                        System.out.println("[GmailScanner] Scanning for currently logged-in user: " + user.getUsername() + " (" + user.getEmail() + ")");
+                        scanInboxForUser(user);
+                    }
+                } catch (Exception e) {
+                    System.err.println("[GmailScanner] Error scanning user " + userId + ": " + e.getMessage());
+                } finally {
+                    releaseUser(userId);
+                    if (remaining.decrementAndGet() == 0) {
+                        recordTick(toScan.size(), System.nanoTime() - tickStart);
                     }
                 }
-            }
+            });
         }
-        
-        if (scannedCount == 0) {
-            System.out.println("[GmailScanner] No currently logged-in users with Gmail enabled. Login and connect Gmail to scan emails.");
+    }
+
+    /**
+     * Tick duration relative to the schedule period. Above 100% means users are being
+     * scanned less often than once per period and the pool needs more threads.
+     */
+    private void recordTick(int users, long elapsedNanos) {
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        lastTickMillis = elapsedMs;
+        long percent = elapsedMs * 100 / SCAN_PERIOD_MS;
+        if (elapsedMs > SCAN_PERIOD_MS) {
+            System.err.println("[GmailScanner] ⚠ Tick over budget: scanned " + users + " users in " + elapsedMs
+                    + " ms (" + percent + "% of " + SCAN_PERIOD_MS + " ms period)");
+        } else {
+            System.out.println("[GmailScanner] Tick complete: scanned " + users + " users in " + elapsedMs
+                    + " ms (" + percent + "% of " + SCAN_PERIOD_MS + " ms period)");
         }
     }
 
+    /**
+     * Duration of the most recently completed scan tick in milliseconds, or -1 before the first one
+     */
+    public long getLastTickMillis() {
+        return lastTickMillis;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scanExecutor.shutdownNow();
+    }
+
     /**
      * Scan inbox for a specific user
      */
@@ -184,6 +368,8 @@ public class GmailBackgroundScanner {
                     ? 0L
                     : state.getLastProcessedInternalDate();
             long maxSeen = lastProcessed;
+            Map<String, Integer> retryAttempts = state.getRetryAttempts();
+            Map<String, Integer> failedAttempts = new LinkedHashMap<>();
             
             System.out.println("[GmailScanner] Last processed date for " + user.getUsername() + ": " + lastProcessed);
 
@@ -194,37 +380,88 @@ public class GmailBackgroundScanner {
                 return;
             }
 
-            System.out.println("[GmailScanner] Calling Gmail API for user: " + user.getUsername() + "...");
-            // Query for unread emails matching job-related keywords in subject OR body
-            // Gmail searches both subject and body when using OR without "subject:" prefix
-            String query = "is:unread (application OR job OR interview OR offer OR rejected OR position OR role OR hiring)";
-            System.out.println("[GmailScanner] Query: " + query);
-            
-            ListMessagesResponse response = service.users().messages().list("me")
-                    .setQ(query)
-                    .setMaxResults(5L)  // Get top 5 most recent unread emails
-                    .execute();
+            // 3) Work out which messages to look at: deltas since the stored historyId when we have one,
+            //    otherwise (first run or expired history) a full search
+            List<String> candidateIds = null;
+            BigInteger newHistoryId = null;
+            if (state.getHistoryId() != null) {
+                HistoryDelta delta = listAddedMessages(service, BigInteger.valueOf(state.getHistoryId()));
+                if (delta != null) {
+                    newHistoryId = delta.historyId;
+                    if (delta.addedMessageIds.isEmpty() && retryAttempts.isEmpty()) {
+                        // Nothing new - one small history call and no message fetches
+                        saveHistoryId(state, newHistoryId);
+                        return;
+                    }
+                    candidateIds = delta.addedMessageIds.isEmpty() ? new ArrayList<>() : searchMessageIds(service, lastProcessed,
+                            Math.min(MAX_DELTA_RESULTS, Math.max(FULL_SYNC_RESULTS, delta.addedMessageIds.size())));
+                    candidateIds.retainAll(delta.addedMessageIds);
+                    System.out.println("[GmailScanner] " + delta.addedMessageIds.size() + " new inbox messages for "
+                            + user.getUsername() + ", " + candidateIds.size() + " match the job query");
+                } else {
+                    System.out.println("[GmailScanner] History ID expired for " + user.getUsername() + " - doing a full resync");
+                }
+            }
+            if (candidateIds == null) {
+                // Take the history ID before searching so nothing that arrives in between is missed
+                newHistoryId = service.users().getProfile("me").execute().getHistoryId();
+                candidateIds = searchMessageIds(service, 0L, FULL_SYNC_RESULTS);
+            }
+            // Messages that failed in an earlier scan are not in this delta any more
+            for (String retryId : retryAttempts.keySet()) {
+                if (!candidateIds.contains(retryId)) {
+                    candidateIds.add(retryId);
+                }
+            }
 
-            System.out.println("[GmailScanner] Gmail API response received");
-            
-            List<Message> messages = response.getMessages();
-            if (messages == null || messages.isEmpty()) {
+            if (candidateIds.isEmpty()) {
                 System.out.println("[GmailScanner] No matching unread emails for " + user.getUsername());
+                saveHistoryId(state, newHistoryId);
                 return;
             }
-            
-            System.out.println("[GmailScanner] Found " + messages.size() + " unread emails matching query");
 
-            // 3) Process ALL unread messages - if they're unread, they're new and should be processed
-            // We'll track processed message IDs in application notes to avoid duplicates
-            for (Message message : messages) {
+            System.out.println("[GmailScanner] Found " + candidateIds.size() + " unread emails matching query");
+
+            // 4) Triage: skip messages we already handled, then fetch only Subject/From/snippet in one
+            //    batch call and keep the ones that look like application updates
+            List<String> unprocessedIds = new ArrayList<>();
+            for (String messageId : candidateIds) {
+                if (checkIfMessageProcessed(messageId, user)) {
+                    System.out.println("[GmailScanner] Skipping already processed email (by message ID): " + messageId);
+                } else {
+                    unprocessedIds.add(messageId);
+                }
+            }
+
+            Map<String, Message> metadata = batchGetMessages(service, unprocessedIds, "metadata");
+            List<String> triagedIds = new ArrayList<>();
+            for (String messageId : unprocessedIds) {
+                Message metaMsg = metadata.get(messageId);
+                if (metaMsg == null) {
+                    failedAttempts.put(messageId, retryAttempts.getOrDefault(messageId, 0) + 1);
+                    continue;
+                }
+                String subject = getHeader(metaMsg, "Subject");
+                if (passesTriage(subject, metaMsg.getSnippet())) {
+                    triagedIds.add(messageId);
+                } else {
+                    System.out.println("[GmailScanner] Triage skipped email: " + subject);
+                    if (metaMsg.getInternalDate() != null && metaMsg.getInternalDate() > maxSeen) {
+                        maxSeen = metaMsg.getInternalDate();
+                    }
+                }
+            }
+
+            // 5) Fetch full bodies only for messages that passed triage, again in one batch call
+            Map<String, Message> fullMessages = batchGetMessages(service, triagedIds, "full");
+            for (String messageId : triagedIds) {
+                String claimedMessageId = null;
                 try {
-                    String messageId = message.getId();
-                    Message fullMsg = service.users()
-                            .messages()
-                            .get("me", messageId)
-                            .setFormat("full")
-                            .execute();
+                    Message fullMsg = fullMessages.get(messageId);
+                    if (fullMsg == null) {
+                        failedAttempts.put(messageId, retryAttempts.getOrDefault(messageId, 0) + 1);
+                        continue;
+                    }
 
                     Long internalDate = fullMsg.getInternalDate();
                     if (internalDate == null) {
@@ -233,25 +470,27 @@ public class GmailBackgroundScanner {
 
                     String subject = getHeader(fullMsg, "Subject");
                     String sender = getHeader(fullMsg, "From");
-                    
-                    // Check if we've already processed this message ID by checking application notes
-                    boolean alreadyProcessed = checkIfMessageProcessed(messageId, user);
-                    if (alreadyProcessed) {
+
+                    // Claim the message first so a concurrent scan cannot process it twice
+                    if (!processedEmailLedger.claim(user.getId(), messageId)) {
                         System.out.println("[GmailScanner] Skipping already processed email (by message ID): " + subject);
                         continue;
                     }
+                    claimedMessageId = messageId;
 
                     // Process the email - it's unread so it's new
                     String body = getBody(fullMsg);
                     System.out.println("[" + user.getUsername() + "] Processing Email: " + subject + " (messageId: " + messageId + ", internalDate: " + internalDate + ")");
 
-                    String newStatus = emailParserService.determineStatus(subject, body);
+                    // One parse per email; the result is threaded through update/create
+                    EmailParserService.ParseResult parsed = emailParserService.parse(sender, subject, body);
+                    String newStatus = parsed.getStatus();
                     System.out.println("[" + user.getUsername() + "] Determined status: " + (newStatus != null ? newStatus : "none") + " for: " + subject);
 
                     if (newStatus != null) {
                         // For any status found, try to update existing application or create new one
                         System.out.println("[" + user.getUsername() + "] Status is " + newStatus + ", attempting to update or create application...");
-                        updateOrCreateApplication(sender, subject, body, newStatus, user, messageId);
+                        updateOrCreateApplication(sender, subject, body, parsed, user, messageId);
                     } else {
                         System.out.println("[" + user.getUsername() + "] ⚠ No status detected for email: " + subject);
                         System.out.println("[" + user.getUsername() + "] Email content preview (first 200 chars): " + 
@@ -265,14 +504,30 @@ public class GmailBackgroundScanner {
                 } catch (Exception e) {
                     System.err.println("[GmailScanner] Error processing individual email for user " + user.getUsername() + ": " + e.getMessage());
                     e.printStackTrace();
+                    if (claimedMessageId != null) {
+                        processedEmailLedger.release(user.getId(), claimedMessageId);
+                    }
+                    // Let the next scan retry it
+                    failedAttempts.put(messageId, retryAttempts.getOrDefault(messageId, 0) + 1);
                 }
             }
 
-            // 4) Update lastProcessedInternalDate if we saw newer emails
+            // 6) Advance the history ID and lastProcessedInternalDate; failed messages are kept for
+            //    the next scan since the new history ID no longer reports them
+            failedAttempts.entrySet().removeIf(entry -> {
+                if (entry.getValue() >= MAX_MESSAGE_ATTEMPTS) {
+                    System.err.println("[GmailScanner] ✗ Giving up on message " + entry.getKey() + " for user " +
+                            user.getUsername() + " after " + entry.getValue() + " attempts");
+                    return true;
+                }
+                return false;
+            });
+            state.setRetryAttempts(failedAttempts);
             if (maxSeen > lastProcessed) {
                 state.setLastProcessedInternalDate(maxSeen);
-                emailSyncStateRepository.save(state);
             }
+            state.setHistoryId(newHistoryId != null ? newHistoryId.longValue() : state.getHistoryId());
+            emailSyncStateRepository.save(state);
         } catch (Exception e) {
             System.err.println("[GmailScanner] Error scanning for user " + user.getUsername() + ": " + e.getMessage());
             e.printStackTrace();
@@ -280,110 +535,342 @@ public class GmailBackgroundScanner {
     }
 
     /**
-     * Check if a message ID has already been processed by looking in application notes
+     * IDs of unread messages matching the job keyword query, newest first.
+     * When afterInternalDate is set the search is limited to mail received since then.
      */
-    private boolean checkIfMessageProcessed(String messageId, User user) {
-        List<Application> userApps = applicationRepository.findByUser_Id(user.getId());
-        for (Application app : userApps) {
-            if (app.getNotes() != null && app.getNotes().contains("[GmailMessageId:" + messageId + "]")) {
-                return true;
+    private List<String> searchMessageIds(Gmail service, long afterInternalDate, long maxResults) throws Exception {
+        // Gmail searches both subject and body when using OR without "subject:" prefix
+        String query = JOB_QUERY;
+        if (afterInternalDate > 0) {
+            // One second of overlap; already-processed messages are skipped later
+            query += " after:" + (afterInternalDate / 1000 - 1);
+        }
+        System.out.println("[GmailScanner] Query: " + query);
+
+        ListMessagesResponse response = service.users().messages().list("me")
+                .setQ(query)
+                .setMaxResults(maxResults)
+                .execute();
+
+        List<String> ids = new ArrayList<>();
+        if (response.getMessages() != null) {
+            for (Message message : response.getMessages()) {
+                ids.add(message.getId());
             }
         }
-        return false;
+        return ids;
     }
 
     /**
-     * Create a new application from email with the specified status
-     * Uses regex + LLM fallback for company/title extraction
+     * Fetch messages in multipart batch calls (one HTTP round trip per chunk) instead of one get() per message.
+     * "metadata" format only returns the Subject/From headers and snippet. Messages that fail are left out.
      */
-    private void createApplicationFromEmail(String subject, String body, String sender, User user, String messageId, String status) {
-        try {
-            // Step 1: Extract company and job title using regex
-            String company = emailParserService.extractCompany(sender, subject, body);
-            String jobTitle = emailParserService.extractJobTitle(subject, body);
-            
-            System.out.println("[GmailScanner] Extracted from email - Company: " + company + ", Title: " + jobTitle + 
-                    " (Sender: " + sender + ", Subject: " + subject + ")");
+    private Map<String, Message> batchGetMessages(Gmail service, List<String> messageIds, String format) throws Exception {
+        Map<String, Message> messages = new HashMap<>();
+        for (int from = 0; from < messageIds.size(); from += BATCH_CHUNK_SIZE) {
+            List<String> chunk = messageIds.subList(from, Math.min(messageIds.size(), from + BATCH_CHUNK_SIZE));
+            BatchRequest batch = service.batch();
+            for (String messageId : chunk) {
+                Gmail.Users.Messages.Get get = service.users().messages().get("me", messageId).setFormat(format);
+                if ("metadata".equals(format)) {
+                    get.setMetadataHeaders(TRIAGE_HEADERS);
+                }
+                get.queue(batch, new JsonBatchCallback<Message>() {
+                    @Override
+                    public void onSuccess(Message message, HttpHeaders responseHeaders) {
+                        messages.put(messageId, message);
+                    }
 
-            // Step 2: If regex fails, try LLM enhancement
-            if (("Unknown Company".equals(company) || "Unknown Position".equals(jobTitle))
-                    && llmEmailParserService.isConfigured()) {
+                    @Override
+                    public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                        System.err.println("[GmailScanner] Failed to fetch message " + messageId + ": " + error.getMessage());
+                    }
+                });
+            }
+            batch.execute();
+        }
+        return messages;
+    }
 
-                System.out.println("[GmailScanner] Regex extraction incomplete, trying LLM...");
-                String[] llmResult = llmEmailParserService.extractCompanyAndTitle(sender, subject, body);
+    /**
+     * Cheap pre-check on headers and snippet before downloading a full body.
+     * Passes if the subject names a hiring topic or the subject/snippet already imply a status.
+     */
+    private boolean passesTriage(String subject, String snippet) {
+        if (subject != null && TRIAGE_SUBJECT_PATTERN.matcher(subject).find()) {
+            return true;
+        }
+        return emailParserService.determineStatus(subject != null ? subject : "", snippet != null ? snippet : "") != null;
+    }
 
-                // Use LLM result if it's available and not "Unknown"
-                if (llmResult[0] != null && !llmResult[0].equals("Unknown Company") && !llmResult[0].isEmpty()) {
-                    company = llmResult[0];
-                    System.out.println("[GmailScanner] LLM extracted company: " + company);
+    /**
+     * Messages added to the inbox since startHistoryId, following every page.
+     * Returns null when Gmail no longer has history that far back (HTTP 404) and a full sync is needed.
+     */
+    private HistoryDelta listAddedMessages(Gmail service, BigInteger startHistoryId) throws Exception {
+        Set<String> added = new LinkedHashSet<>();
+        BigInteger latestHistoryId = startHistoryId;
+        String pageToken = null;
+        try {
+            do {
+                ListHistoryResponse response = service.users().history().list("me")
+                        .setStartHistoryId(startHistoryId)
+                        .setHistoryTypes(Collections.singletonList("messageAdded"))
+                        .setLabelId("INBOX")
+                        .setPageToken(pageToken)
+                        .execute();
+                if (response.getHistory() != null) {
+                    for (History history : response.getHistory()) {
+                        if (history.getMessagesAdded() == null) {
+                            continue;
+                        }
+                        for (HistoryMessageAdded messageAdded : history.getMessagesAdded()) {
+                            added.add(messageAdded.getMessage().getId());
+                        }
+                    }
                 }
-                if (llmResult[1] != null && !llmResult[1].equals("Unknown Position") && !llmResult[1].isEmpty()) {
-                    jobTitle = llmResult[1];
-                    System.out.println("[GmailScanner] LLM extracted title: " + jobTitle);
+                if (response.getHistoryId() != null) {
+                    latestHistoryId = response.getHistoryId();
                 }
+                pageToken = response.getNextPageToken();
+            } while (pageToken != null);
+        } catch (GoogleJsonResponseException e) {
+            if (e.getStatusCode() == 404) {
+                return null;
             }
+            throw e;
+        }
+        return new HistoryDelta(added, latestHistoryId);
+    }
 
-            // Step 3: Check for duplicate (company + title combo) for THIS USER
-            // First try exact match
-            Application existing = applicationRepository.findByUser_IdAndCompanyAndTitle(
-                    user.getId(), company, jobTitle);
-
-            // If no exact match, try case-insensitive check by searching user's applications
-            if (existing == null) {
-                List<Application> userApps = applicationRepository.findByUser_Id(user.getId());
-                for (Application app : userApps) {
-                    if (app.getCompany() != null && app.getTitle() != null &&
-                        app.getCompany().equalsIgnoreCase(company) && 
-                        app.getTitle().equalsIgnoreCase(jobTitle)) {
-                        existing = app;
-                        break;
-                    }
+    private void saveHistoryId(EmailSyncState state, BigInteger historyId) {
+        if (historyId != null && !Long.valueOf(historyId.longValue()).equals(state.getHistoryId())) {
+            state.setHistoryId(historyId.longValue());
+            emailSyncStateRepository.save(state);
+        }
+    }
+
+    private static final class HistoryDelta {
+        final Set<String> addedMessageIds;
+        final BigInteger historyId;
+
+        HistoryDelta(Set<String> addedMessageIds, BigInteger historyId) {
+            this.addedMessageIds = addedMessageIds;
+            this.historyId = historyId;
+        }
+    }
+
+    /**
+     * Check if a message ID has already been processed (processed_email ledger, Bloom filter first)
+     */
+    private boolean checkIfMessageProcessed(String messageId, User user) {
+        return processedEmailLedger.isProcessed(user.getId(), messageId);
+    }
+
+    /**
+     * Create a new application from email with the specified status
+     * Company and title come from the already-resolved parse result (regex + LLM fallback)
+     * Returns the saved application, or null when nothing was created. Save failures propagate
+     * so the caller can release the message for a retry.
+     */
+    private Application createApplicationFromEmail(EmailParserService.ParseResult parsed, String subject, String sender,
+                                            User user, String messageId, String status) {
+        String company = parsed.getCompany();
+        String jobTitle = parsed.getJobTitle();
+
+        System.out.println("[GmailScanner] Extracted from email - Company: " + company + ", Title: " + jobTitle + 
+                " (Sender: " + sender + ", Subject: " + subject + ")");
+
+        // Step 3: Check for duplicate (company + title combo) for THIS USER
+        // Normalized match ignores case, punctuation and legal suffixes in one index lookup
+        Application existing = applicationMatcher.findByCompanyAndTitle(user.getId(), company, jobTitle);
+
+        if (existing != null) {
+            System.out.println("[GmailScanner] Application already exists for " +
+                    company + " - " + jobTitle + " (user: " + user.getUsername() + "), skipping creation");
+            return null;
+        }
+
+        // Step 4: Validate we have at least a company name before creating
+        if (company == null || company.equals("Unknown Company") || company.trim().isEmpty()) {
+            System.out.println("[GmailScanner] ⚠ Cannot create application: company name could not be extracted. " +
+                    "Sender: " + sender + ", Subject: " + subject);
+            return null;
+        }
+
+        // Step 5: Create new application for this user
+        Application application = new Application();
+        application.setUser(user);
+        application.setCompany(company);
+        // Use default title if extraction failed
+        if (jobTitle == null || jobTitle.equals("Unknown Position") || jobTitle.trim().isEmpty()) {
+            jobTitle = "Position Not Specified";
+        }
+        application.setTitle(jobTitle);
+        application.setStatus(status != null ? status : "APPLIED");
+        application.setSource("EMAIL");
+        application.setCreatedAt(LocalDate.now());
+        // Set appliedAt only if status is APPLIED, otherwise leave null or set appropriate date
+        if ("APPLIED".equals(status)) {
+            application.setAppliedAt(LocalDate.now());
+        }
+        application.setNotes(
+                "[Auto-created from email on " + LocalDate.now() + "] Status: " + status + "\n" +
+                        "Sender: " + sender + "\n" +
+                        "Subject: " + subject + "\n" +
+                        "[GmailMessageId:" + messageId + "]"
+        );
+
+        applicationRepository.save(application);
+        System.out.println("[GmailScanner] ✓ Successfully created new application for user " + 
+                user.getUsername() + ": " + company + " - " + jobTitle + " with status " + status + 
+                " (ID: " + application.getId() + ")");
+        return application;
+    }
+
+    /**
+     * Apply the regex parse result and, when company or title is still unknown, refine it
+     * with the LLM without blocking the scan:
+     * - Unknown company: nothing to match or create on yet, so the whole update runs when the LLM answers
+     * - Unknown title only: the regex result is saved now and the title is filled in when the LLM answers
+     * Both follow-ups run on the scan pool under the user's in-flight slot (see runForUser).
+     */
+    private void updateOrCreateApplication(String sender, String subject, String body,
+                                           EmailParserService.ParseResult parsed, User user, String messageId) {
+        boolean companyUnknown = "Unknown Company".equals(parsed.getCompany());
+        boolean titleUnknown = "Unknown Position".equals(parsed.getJobTitle());
+        if (!(companyUnknown || titleUnknown) || !llmEmailParserService.isConfigured()) {
+            applyParseResult(sender, subject, parsed, user, messageId);
+            return;
+        }
+
+        System.out.println("[GmailScanner] Regex extraction incomplete, queueing LLM extraction...");
+        CompletableFuture<String[]> llmResult = llmEmailParserService.extractCompanyAndTitleAsync(sender, subject, body);
+        if (companyUnknown) {
+            llmResult.thenAccept(result -> runForUser(user.getId(), () ->
+                    applyDeferredParseResult(sender, subject, mergeLlmResult(parsed, result), user, messageId)));
+            return;
+        }
+
+        Application saved = applyParseResult(sender, subject, parsed, user, messageId);
+        if (saved != null) {
+            llmResult.thenAccept(result -> runForUser(user.getId(), () -> refineTitle(saved.getId(), result)));
+        }
+    }
+
+    /**
+     * Run an LLM follow-up on the scan pool while holding the user's in-flight slot, so it never
+     * overlaps a scan (or another follow-up) writing the same user's applications. If the slot is
+     * taken, the holder runs the task before releasing it.
+     */
+    private void runForUser(UUID userId, Runnable task) {
+        pendingFollowUps.compute(userId, (id, queue) -> {
+            Queue<Runnable> tasks = queue != null ? queue : new ArrayDeque<>();
+            tasks.add(task);
+            return tasks;
+        });
+        try {
+            scanExecutor.execute(() -> {
+                if (inFlightUserIds.add(userId)) {
+                    releaseUser(userId);
                 }
-            }
+            });
+        } catch (RejectedExecutionException e) {
+            System.err.println("[GmailScanner] Scanner shutting down, dropping LLM follow-up for user " + userId);
+        }
+    }
 
-            if (existing != null) {
-                System.out.println("[GmailScanner] Application already exists for " +
-                        company + " - " + jobTitle + " (user: " + user.getUsername() + "), skipping creation");
-                return;
+    /**
+     * Run follow-ups queued for the user, then give up the in-flight slot. Re-checks the map after
+     * releasing: a task queued after the last poll may have lost the slot race to us, so take the
+     * slot back and run it.
+     */
+    private void releaseUser(UUID userId) {
+        do {
+            Runnable task;
+            while ((task = pollFollowUp(userId)) != null) {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    System.err.println("[GmailScanner] Error applying LLM result for user " + userId + ": " + e.getMessage());
+                }
             }
+            inFlightUserIds.remove(userId);
+        } while (pendingFollowUps.containsKey(userId) && inFlightUserIds.add(userId));
+    }
 
-            // Step 4: Validate we have at least a company name before creating
-            if (company == null || company.equals("Unknown Company") || company.trim().isEmpty()) {
-                System.out.println("[GmailScanner] ⚠ Cannot create application: company name could not be extracted. " +
-                        "Sender: " + sender + ", Subject: " + subject);
-                return;
-            }
+    /**
+     * Take the user's next follow-up, dropping the queue once it is empty
+     */
+    private Runnable pollFollowUp(UUID userId) {
+        Runnable[] next = new Runnable[1];
+        pendingFollowUps.computeIfPresent(userId, (id, queue) -> {
+            next[0] = queue.poll();
+            return queue.isEmpty() ? null : queue;
+        });
+        return next[0];
+    }
 
-            // Step 5: Create new application for this user
-            Application application = new Application();
-            application.setUser(user);
-            application.setCompany(company);
-            // Use default title if extraction failed
-            if (jobTitle == null || jobTitle.equals("Unknown Position") || jobTitle.trim().isEmpty()) {
-                jobTitle = "Position Not Specified";
-            }
-            application.setTitle(jobTitle);
-            application.setStatus(status != null ? status : "APPLIED");
-            application.setCreatedAt(LocalDate.now());
-            // Set appliedAt only if status is APPLIED, otherwise leave null or set appropriate date
-            if ("APPLIED".equals(status)) {
-                application.setAppliedAt(LocalDate.now());
-            }
-            application.setNotes(
-                    "[Auto-created from email on " + LocalDate.now() + "] Status: " + status + "\n" +
-                            "Sender: " + sender + "\n" +
-                            "Subject: " + subject + "\n" +
-                            "[GmailMessageId:" + messageId + "]"
-            );
-
-            applicationRepository.save(application);
-            System.out.println("[GmailScanner] ✓ Successfully created new application for user " + 
-                    user.getUsername() + ": " + company + " - " + jobTitle + " with status " + status + 
-                    " (ID: " + application.getId() + ")");
+    /**
+     * Apply a parse result completed by the LLM after the scan moved on. The message is already
+     * claimed, so on failure the claim is released and the message queued for the next scan.
+     */
+    private void applyDeferredParseResult(String sender, String subject,
+                                          EmailParserService.ParseResult parsed, User user, String messageId) {
+        try {
+            applyParseResult(sender, subject, parsed, user, messageId);
+        } catch (Exception e) {
+            System.err.println("[GmailScanner] Error applying LLM result for email " + messageId + ": " + e.getMessage());
+            processedEmailLedger.release(user.getId(), messageId);
+            emailSyncStateRepository.findByUser_Id(user.getId()).ifPresent(state -> {
+                Map<String, Integer> retryAttempts = state.getRetryAttempts();
+                retryAttempts.merge(messageId, 1, Integer::sum);
+                state.setRetryAttempts(retryAttempts);
+                emailSyncStateRepository.save(state);
+            });
+        }
+    }
+
+    /**
+     * Regex result with the LLM's company/title filled in where the LLM found one
+     */
+    private EmailParserService.ParseResult mergeLlmResult(EmailParserService.ParseResult parsed, String[] llmResult) {
+        String company = parsed.getCompany();
+        String jobTitle = parsed.getJobTitle();
+
+        // Use LLM result if it's available and not "Unknown"
+        if (llmResult[0] != null && !llmResult[0].equals("Unknown Company") && !llmResult[0].isEmpty()) {
+            company = llmResult[0];
+            System.out.println("[GmailScanner] LLM extracted company: " + company);
+        }
+        if (llmResult[1] != null && !llmResult[1].equals("Unknown Position") && !llmResult[1].isEmpty()) {
+            jobTitle = llmResult[1];
+            System.out.println("[GmailScanner] LLM extracted title: " + jobTitle);
+        }
+        return new EmailParserService.ParseResult(parsed.getStatus(), company, jobTitle);
+    }
 
+    /**
+     * Replace the placeholder title of an auto-created application with the LLM's title
+     */
+    private void refineTitle(UUID applicationId, String[] llmResult) {
+        String jobTitle = llmResult[1];
+        if (jobTitle == null || jobTitle.isEmpty() || jobTitle.equals("Unknown Position")) {
+            return;
+        }
+        try {
+            applicationRepository.findById(applicationId).ifPresent(application -> {
+                // Only fill in a placeholder; never overwrite a real title
+                if (!"Position Not Specified".equals(application.getTitle())) {
+                    return;
+                }
+                application.setTitle(jobTitle);
+                applicationRepository.save(application);
+                System.out.println("[GmailScanner] LLM extracted title: " + jobTitle +
+                        " (application " + applicationId + ")");
+            });
         } catch (Exception e) {
-            System.err.println("[GmailScanner] Error creating application: " + e.getMessage());
-            e.printStackTrace();
+            System.err.println("[GmailScanner] Error applying LLM title: " + e.getMessage());
         }
     }
 
@@ -392,81 +879,60 @@ public class GmailBackgroundScanner {
      * For any status (APPLIED, INTERVIEW, OFFER, REJECTED):
      * - If matching application found: update its status
      * - If no matching application found: create new application with detected status
+     * Returns the matched or created application, or null. Save failures propagate so the
+     * caller can release the message for a retry.
      */
-    private void updateOrCreateApplication(String sender, String subject, String body, String newStatus, User user, String messageId) {
-        try {
-            // Extract company and job title
-            String company = emailParserService.extractCompany(sender, subject, body);
-            String jobTitle = emailParserService.extractJobTitle(subject, body);
-
-            // Try LLM if regex fails
-            if (("Unknown Company".equals(company) || "Unknown Position".equals(jobTitle))
-                    && llmEmailParserService.isConfigured()) {
-
-                System.out.println("[GmailScanner] Regex extraction incomplete for update, trying LLM...");
-                String[] llmResult = llmEmailParserService.extractCompanyAndTitle(sender, subject, body);
-                if (llmResult[0] != null && !llmResult[0].equals("Unknown Company") && !llmResult[0].isEmpty()) {
-                    company = llmResult[0];
-                    System.out.println("[GmailScanner] LLM extracted company: " + company);
-                }
-                if (llmResult[1] != null && !llmResult[1].equals("Unknown Position") && !llmResult[1].isEmpty()) {
-                    jobTitle = llmResult[1];
-                    System.out.println("[GmailScanner] LLM extracted title: " + jobTitle);
-                }
-            }
+    private Application applyParseResult(String sender, String subject,
+                                         EmailParserService.ParseResult parsed, User user, String messageId) {
+        String newStatus = parsed.getStatus();
+        String company = parsed.getCompany();
+        String jobTitle = parsed.getJobTitle();
 
-            Application application = null;
+        Application application = null;
 
-            // Strategy 1: Try exact match (user + company + title)
-            if (jobTitle != null && !jobTitle.equals("Unknown Position")) {
-                application = applicationRepository.findByUser_IdAndCompanyAndTitle(
-                        user.getId(), company, jobTitle);
-            }
+        // Strategy 1: Try normalized match (user + company + title)
+        if (jobTitle != null && !jobTitle.equals("Unknown Position")) {
+            application = applicationMatcher.findByCompanyAndTitle(user.getId(), company, jobTitle);
+        }
 
-            // Strategy 2: Fallback to any application from this company for this user
-            if (application == null) {
-                List<Application> companyApps = applicationRepository.findAllByUser_IdAndCompany(
-                        user.getId(), company);
-                if (!companyApps.isEmpty()) {
-                    application = companyApps.get(0);
-                    System.out.println("[GmailScanner] ?? No exact match found, updating first application for " + 
-                            company + " (user: " + user.getUsername() + ")");
-                }
+        // Strategy 2: Fallback to the most recent application from this company for this user
+        if (application == null) {
+            application = applicationMatcher.findByCompany(user.getId(), company);
+            if (application != null) {
+                System.out.println("[GmailScanner] ?? No exact match found, updating latest application for " +
+                        application.getCompany() + " (user: " + user.getUsername() + ")");
             }
+        }
 
-            // Update if found, otherwise create new application
-            if (application != null) {
-                // Update existing application
-                if (!newStatus.equals(application.getStatus())) {
-                    System.out.println("[GmailScanner] Updating " + application.getCompany() +
-                            " - " + application.getTitle() + " status to " + newStatus + 
-                            " (user: " + user.getUsername() + ")");
-
-                    String existingNotes = application.getNotes() == null ? "" : application.getNotes();
-                    // Check if we've already processed this message ID
-                    if (!existingNotes.contains("[GmailMessageId:" + messageId + "]")) {
-                        String autoNote = "\n[Auto-Update " + LocalDate.now() + "] Status: " + newStatus + "\n[GmailMessageId:" + messageId + "]";
-                        application.setStatus(newStatus);
-                        application.setNotes(existingNotes + autoNote);
-                        applicationRepository.save(application);
-                        System.out.println("[GmailScanner] ✓ Successfully updated application status to " + newStatus);
-                    } else {
-                        System.out.println("[GmailScanner] Already processed this message ID for application update, skipping");
-                    }
+        // Update if found, otherwise create new application
+        if (application != null) {
+            // Update existing application
+            if (!newStatus.equals(application.getStatus())) {
+                System.out.println("[GmailScanner] Updating " + application.getCompany() +
+                        " - " + application.getTitle() + " status to " + newStatus + 
+                        " (user: " + user.getUsername() + ")");
+
+                String existingNotes = application.getNotes() == null ? "" : application.getNotes();
+                // Check if we've already processed this message ID
+                if (!existingNotes.contains("[GmailMessageId:" + messageId + "]")) {
+                    String autoNote = "\n[Auto-Update " + LocalDate.now() + "] Status: " + newStatus + "\n[GmailMessageId:" + messageId + "]";
+                    application.setStatus(newStatus);
+                    application.setNotes(existingNotes + autoNote);
+                    applicationRepository.save(application);
+                    System.out.println("[GmailScanner] ✓ Successfully updated application status to " + newStatus);
                 } else {
-                    System.out.println("[GmailScanner] Application already has status " + newStatus + ", no update needed");
+                    System.out.println("[GmailScanner] Already processed this message ID for application update, skipping");
                 }
             } else {
-                // No matching application found - create new one with the detected status
-                System.out.println("[GmailScanner] No matching application found for: " + company + 
-                        " (user: " + user.getUsername() + "), creating new application with status: " + newStatus);
-                createApplicationFromEmail(subject, body, sender, user, messageId, newStatus);
+                System.out.println("[GmailScanner] Application already has status " + newStatus + ", no update needed");
             }
-
-        } catch (Exception e) {
-            System.err.println("[GmailScanner] Error updating application: " + e.getMessage());
-            e.printStackTrace();
+        } else {
+            // No matching application found - create new one with the detected status
+            System.out.println("[GmailScanner] No matching application found for: " + company + 
+                    " (user: " + user.getUsername() + "), creating new application with status: " + newStatus);
+            application = createApplicationFromEmail(parsed, subject, sender, user, messageId, newStatus);
         }
+        return application;
     }
 
     private String getHeader(Message message, String headerName) {
@@ -484,43 +950,6 @@ public class GmailBackgroundScanner {
             return message.getSnippet() != null ? message.getSnippet() : "";
         }
         
-        return extractTextFromPayload(message.getPayload());
-    }
-    
-    /**
-     * Recursively extract text from Gmail message payload
-     * Handles both simple and multipart messages
-     */
-    private String extractTextFromPayload(com.google.api.services.gmail.model.MessagePart payload) {
-        StringBuilder bodyText = new StringBuilder();
-        
-        // If this part has a body with data, decode and return it
-        if (payload.getBody() != null && payload.getBody().getData() != null) {
-            String mimeType = payload.getMimeType();
-            if ("text/plain".equals(mimeType) || "text/html".equals(mimeType)) {
-                try {
-                    // Gmail API returns base64url encoded data
-                    byte[] data = com.google.api.client.util.Base64.decodeBase64(
-                        payload.getBody().getData().replace('-', '+').replace('_', '/'));
-                    String text = new String(data, "UTF-8");
-                    // For HTML, strip tags for better parsing
-                    if ("text/html".equals(mimeType)) {
-                        text = text.replaceAll("<[^>]+>", " ").replaceAll("\\s+", " ");
-                    }
-                    bodyText.append(text).append(" ");
-                } catch (Exception e) {
-                    // If decoding fails, continue to try other parts
-                }
-            }
-        }
-        
-        // If this is a multipart message, recursively process each part
-        if (payload.getParts() != null) {
-            for (com.google.api.services.gmail.model.MessagePart part : payload.getParts()) {
-                bodyText.append(extractTextFromPayload(part));
-            }
-        }
-        
-        return bodyText.toString().trim();
+        return emailBodyExtractor.extract(message.getPayload());
     }
 }
\ No newline at end of file
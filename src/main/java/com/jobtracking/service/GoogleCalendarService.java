@@ -1,6 +1,11 @@
 package com.jobtracking.service;
 
-import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.googleapis.services.AbstractGoogleClient;
+import com.google.api.client.http.HttpHeaders;
 import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.json.JsonFactory;
 import com.google.api.client.json.gson.GsonFactory;
@@ -8,12 +13,14 @@ import com.google.api.client.util.DateTime;
 import com.google.api.services.calendar.Calendar;
 import com.google.api.services.calendar.model.Event;
 import com.google.api.services.calendar.model.EventDateTime;
+import com.google.api.services.calendar.model.Events;
 import com.google.api.services.tasks.Tasks;
 import com.google.api.services.tasks.model.Task;
 import com.google.auth.http.HttpCredentialsAdapter;
 import com.google.auth.oauth2.AccessToken;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.jobtracking.model.Reminder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
@@ -22,17 +29,47 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Google Calendar Integration Service
  * Section 1.2: Calendar Integration - Google Calendar API (OAuth2)
+ *
+ * Calendar/Tasks clients share one HTTP transport and are cached per access token, so
+ * consecutive calls for a user reuse the same client and pooled connections.
+ * {@link #applyBatch} sends many event/task mutations as Google batch requests.
  */
 @Service
 public class GoogleCalendarService {
 
     private static final String APPLICATION_NAME = "JobTracker";
     private static final JsonFactory JSON_FACTORY = GsonFactory.getDefaultInstance();
+    private static final String PRIMARY_CALENDAR = "primary";
+    private static final String DEFAULT_TASK_LIST = "@default";
+    // Google batch endpoints accept at most 50 calls per request
+    private static final int MAX_BATCH_SIZE = 50;
+    private static final int EVENT_PAGE_SIZE = 250;
+
+    private final NetHttpTransport httpTransport;
+    private final Map<String, GoogleClients> clients;
+
+    public GoogleCalendarService(NetHttpTransport googleHttpTransport,
+                                 @Value("${google.calendar.client-cache.max-users:1000}") int maxCachedClients) {
+        this.httpTransport = googleHttpTransport;
+        // Keyed by access token: a refreshed token gets fresh clients and the stale entry ages out
+        this.clients = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, GoogleClients> eldest) {
+                return size() > maxCachedClients;
+            }
+        });
+    }
 
     /**
      * Create a Google Calendar event from a reminder
@@ -52,24 +89,29 @@ public class GoogleCalendarService {
             return null;
         }
 
-        NetHttpTransport httpTransport = GoogleNetHttpTransport.newTrustedTransport();
+        // Insert event into primary calendar
+        Event createdEvent = calendarFor(accessToken).events()
+                .insert(PRIMARY_CALENDAR, buildEvent(reminder, userTimezone))
+                .execute();
 
-        // Create credentials from access token
-        GoogleCredentials credentials = GoogleCredentials.create(
-                new AccessToken(accessToken, null)
-        );
+        System.out.println("[Google Calendar] ✓ Created calendar event ID: " + createdEvent.getId());
+        return createdEvent.getId();
+    }
 
-        // Build Calendar service
-        Calendar service = new Calendar.Builder(
-                httpTransport,
-                JSON_FACTORY,
-                new HttpCredentialsAdapter(credentials))
-                .setApplicationName(APPLICATION_NAME)
-                .build();
+    /**
+     * Build a new calendar event from a reminder
+     */
+    private Event buildEvent(Reminder reminder, String userTimezone) {
+        Event event = new Event();
+        applyReminder(event, reminder, userTimezone);
+        return event;
+    }
 
-        // Create event
-        Event event = new Event()
-                .setSummary(reminder.getTitle() != null ? reminder.getTitle() : "Job Application Reminder")
+    /**
+     * Copy the reminder's title, description, time and location onto an event
+     */
+    private void applyReminder(Event event, Reminder reminder, String userTimezone) {
+        event.setSummary(reminder.getTitle() != null ? reminder.getTitle() : "Job Application Reminder")
                 .setDescription(buildEventDescription(reminder));
 
         // Set event time based on reminder type
@@ -87,15 +129,14 @@ public class GoogleCalendarService {
         // Set location if available
         if (reminder.getLocation() != null && !reminder.getLocation().isEmpty()) {
             event.setLocation(reminder.getLocation());
+        } else {
+            event.setLocation(null);
         }
 
-        // Insert event into primary calendar
-        Event createdEvent = service.events()
-                .insert("primary", event)
-                .execute();
-
-        System.out.println("[Google Calendar] ✓ Created calendar event ID: " + createdEvent.getId());
-        return createdEvent.getId();
+        // Syncing the reminder again restores an event that was deleted in Google
+        if ("cancelled".equals(event.getStatus())) {
+            event.setStatus("confirmed");
+        }
     }
 
     /**
@@ -241,48 +282,15 @@ public class GoogleCalendarService {
     public String updateCalendarEvent(String googleCalendarEventId, Reminder reminder, String accessToken, String userTimezone)
             throws IOException, GeneralSecurityException {
 
-        NetHttpTransport httpTransport = GoogleNetHttpTransport.newTrustedTransport();
-
-        // Create credentials from access token
-        GoogleCredentials credentials = GoogleCredentials.create(
-                new AccessToken(accessToken, null)
-        );
-
-        // Build Calendar service
-        Calendar service = new Calendar.Builder(
-                httpTransport,
-                JSON_FACTORY,
-                new HttpCredentialsAdapter(credentials))
-                .setApplicationName(APPLICATION_NAME)
-                .build();
+        Calendar service = calendarFor(accessToken);
 
         // Get existing event
-        Event event = service.events().get("primary", googleCalendarEventId).execute();
-
-        // Update event details
-        event.setSummary(reminder.getTitle() != null ? reminder.getTitle() : "Job Application Reminder")
-                .setDescription(buildEventDescription(reminder));
-
-        // Update time based on reminder type
-        if ("INTERVIEW".equals(reminder.getKind()) && reminder.getStartTime() != null) {
-            setInterviewDateTime(event, reminder, userTimezone);
-        } else if ("DEADLINE".equals(reminder.getKind()) && reminder.getStartTime() != null) {
-            // Application deadline with specific time: create 0-minute event at that time
-            setDeadlineDateTime(event, reminder, userTimezone);
-        } else {
-            setAllDayEvent(event, reminder);
-        }
-
-        // Update location if available
-        if (reminder.getLocation() != null && !reminder.getLocation().isEmpty()) {
-            event.setLocation(reminder.getLocation());
-        } else {
-            event.setLocation(null);
-        }
+        Event event = service.events().get(PRIMARY_CALENDAR, googleCalendarEventId).execute();
+        applyReminder(event, reminder, userTimezone);
 
         // Update the event
         Event updatedEvent = service.events()
-                .update("primary", googleCalendarEventId, event)
+                .update(PRIMARY_CALENDAR, googleCalendarEventId, event)
                 .execute();
 
         System.out.println("[Google Calendar] ✓ Updated calendar event ID: " + updatedEvent.getId());
@@ -298,23 +306,7 @@ public class GoogleCalendarService {
     public void deleteCalendarEvent(String googleCalendarEventId, String accessToken)
             throws IOException, GeneralSecurityException {
 
-        NetHttpTransport httpTransport = GoogleNetHttpTransport.newTrustedTransport();
-
-        // Create credentials from access token
-        GoogleCredentials credentials = GoogleCredentials.create(
-                new AccessToken(accessToken, null)
-        );
-
-        // Build Calendar service
-        Calendar service = new Calendar.Builder(
-                httpTransport,
-                JSON_FACTORY,
-                new HttpCredentialsAdapter(credentials))
-                .setApplicationName(APPLICATION_NAME)
-                .build();
-
-        // Delete the event
-        service.events().delete("primary", googleCalendarEventId).execute();
+        calendarFor(accessToken).events().delete(PRIMARY_CALENDAR, googleCalendarEventId).execute();
 
         System.out.println("[Google Calendar] ✓ Deleted calendar event ID: " + googleCalendarEventId);
     }
@@ -329,37 +321,9 @@ public class GoogleCalendarService {
     public String createGoogleTask(Reminder reminder, String accessToken)
             throws IOException, GeneralSecurityException {
 
-        NetHttpTransport httpTransport = GoogleNetHttpTransport.newTrustedTransport();
-
-        // Create credentials from access token
-        GoogleCredentials credentials = GoogleCredentials.create(
-                new AccessToken(accessToken, null)
-        );
-
-        // Build Tasks service
-        Tasks service = new Tasks.Builder(
-                httpTransport,
-                JSON_FACTORY,
-                new HttpCredentialsAdapter(credentials))
-                .setApplicationName(APPLICATION_NAME)
-                .build();
-
-        // Create task
-        Task task = new Task()
-                .setTitle(reminder.getTitle() != null ? reminder.getTitle() : "Job Application Task")
-                .setNotes(buildTaskDescription(reminder));
-
-        // Set due date (Google Tasks uses RFC 3339 format)
-        if (reminder.getTriggerAt() != null) {
-            // Convert LocalDate to RFC 3339 format: 2025-12-14T00:00:00Z
-            String dueDate = reminder.getTriggerAt().toString() + "T00:00:00Z";
-            task.setDue(dueDate);
-            System.out.println("[Google Tasks] Due date set to: " + dueDate);
-        }
-
         // Insert task into @default tasklist
-        Task createdTask = service.tasks()
-                .insert("@default", task)
+        Task createdTask = tasksFor(accessToken).tasks()
+                .insert(DEFAULT_TASK_LIST, buildTask(reminder))
                 .execute();
 
         System.out.println("[Google Tasks] ✓ Created task ID: " + createdTask.getId());
@@ -377,38 +341,9 @@ public class GoogleCalendarService {
     public String updateGoogleTask(String googleTaskId, Reminder reminder, String accessToken)
             throws IOException, GeneralSecurityException {
 
-        NetHttpTransport httpTransport = GoogleNetHttpTransport.newTrustedTransport();
-
-        // Create credentials from access token
-        GoogleCredentials credentials = GoogleCredentials.create(
-                new AccessToken(accessToken, null)
-        );
-
-        // Build Tasks service
-        Tasks service = new Tasks.Builder(
-                httpTransport,
-                JSON_FACTORY,
-                new HttpCredentialsAdapter(credentials))
-                .setApplicationName(APPLICATION_NAME)
-                .build();
-
-        // Get existing task
-        Task task = service.tasks().get("@default", googleTaskId).execute();
-
-        // Update task details
-        task.setTitle(reminder.getTitle() != null ? reminder.getTitle() : "Job Application Task")
-                .setNotes(buildTaskDescription(reminder));
-
-        // Update due date (Google Tasks uses YYYY-MM-DD format)
-        if (reminder.getTriggerAt() != null) {
-            String dueDate = reminder.getTriggerAt().toString(); // LocalDate.toString() returns YYYY-MM-DD
-            task.setDue(dueDate);
-            System.out.println("[Google Tasks] Updated due date to: " + dueDate);
-        }
-
-        // Update the task
-        Task updatedTask = service.tasks()
-                .update("@default", googleTaskId, task)
+        // Patch only the fields JobTracker owns; Google keeps status, parent and position
+        Task updatedTask = tasksFor(accessToken).tasks()
+                .patch(DEFAULT_TASK_LIST, googleTaskId, buildTask(reminder))
                 .execute();
 
         System.out.println("[Google Tasks] ✓ Updated task ID: " + updatedTask.getId());
@@ -424,25 +359,172 @@ public class GoogleCalendarService {
     public void deleteGoogleTask(String googleTaskId, String accessToken)
             throws IOException, GeneralSecurityException {
 
-        NetHttpTransport httpTransport = GoogleNetHttpTransport.newTrustedTransport();
+        tasksFor(accessToken).tasks().delete(DEFAULT_TASK_LIST, googleTaskId).execute();
 
-        // Create credentials from access token
-        GoogleCredentials credentials = GoogleCredentials.create(
-                new AccessToken(accessToken, null)
-        );
+        System.out.println("[Google Tasks] ✓ Deleted task ID: " + googleTaskId);
+    }
 
-        // Build Tasks service
-        Tasks service = new Tasks.Builder(
-                httpTransport,
-                JSON_FACTORY,
-                new HttpCredentialsAdapter(credentials))
-                .setApplicationName(APPLICATION_NAME)
-                .build();
+    /**
+     * Apply event and task mutations for one user in Google batch requests (up to 50 calls per
+     * HTTP round trip). Each mutation's outcome is recorded on it; only a failure of a whole
+     * batch request (network, auth) is thrown.
+     *
+     * Event updates read the current events in one batch and write them back in another, so
+     * fields edited in Google Calendar (attendees, reminders, colour) are kept. A CREATE_EVENT
+     * with a caller-chosen ID that already exists (409) is turned into an update.
+     */
+    public void applyBatch(String accessToken, String userTimezone, List<Mutation> mutations) throws IOException {
+        List<BatchCall> eventCalls = new ArrayList<>();
+        List<BatchCall> taskCalls = new ArrayList<>();
+        List<Mutation> eventsToFetch = new ArrayList<>();
+        Map<Mutation, Event> eventsToUpdate = new IdentityHashMap<>();
+
+        Calendar calendar = null;
+        Tasks tasks = null;
+        for (Mutation mutation : mutations) {
+            switch (mutation.type) {
+                case CREATE_EVENT -> {
+                    calendar = calendar != null ? calendar : calendarFor(accessToken);
+                    Event event = buildEvent(mutation.reminder, userTimezone);
+                    if (mutation.googleId != null) {
+                        event.setId(mutation.googleId);
+                    }
+                    Calendar.Events.Insert insert = calendar.events().insert(PRIMARY_CALENDAR, event);
+                    eventCalls.add(batch -> insert.queue(batch, new MutationCallback<>(mutation) {
+                        @Override
+                        public void onSuccess(Event created, HttpHeaders responseHeaders) {
+                            mutation.succeed(created.getId());
+                        }
+
+                        @Override
+                        public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                            if (mutation.googleId != null && error.getCode() == 409) {
+                                // Created by an earlier attempt whose response was lost
+                                eventsToFetch.add(mutation);
+                            } else {
+                                super.onFailure(error, responseHeaders);
+                            }
+                        }
+                    }));
+                }
+                case UPDATE_EVENT -> eventsToFetch.add(mutation);
+                case DELETE_EVENT -> {
+                    calendar = calendar != null ? calendar : calendarFor(accessToken);
+                    Calendar.Events.Delete delete = calendar.events().delete(PRIMARY_CALENDAR, mutation.googleId);
+                    eventCalls.add(batch -> delete.queue(batch, new MutationCallback<Void>(mutation)));
+                }
+                case CREATE_TASK -> {
+                    tasks = tasks != null ? tasks : tasksFor(accessToken);
+                    Tasks.TasksOperations.Insert insert = tasks.tasks().insert(DEFAULT_TASK_LIST, buildTask(mutation.reminder));
+                    taskCalls.add(batch -> insert.queue(batch, new MutationCallback<>(mutation) {
+                        @Override
+                        public void onSuccess(Task created, HttpHeaders responseHeaders) {
+                            mutation.succeed(created.getId());
+                        }
+                    }));
+                }
+                case UPDATE_TASK -> {
+                    tasks = tasks != null ? tasks : tasksFor(accessToken);
+                    Tasks.TasksOperations.Patch patch = tasks.tasks()
+                            .patch(DEFAULT_TASK_LIST, mutation.googleId, buildTask(mutation.reminder));
+                    taskCalls.add(batch -> patch.queue(batch, new MutationCallback<Task>(mutation)));
+                }
+                case DELETE_TASK -> {
+                    tasks = tasks != null ? tasks : tasksFor(accessToken);
+                    Tasks.TasksOperations.Delete delete = tasks.tasks().delete(DEFAULT_TASK_LIST, mutation.googleId);
+                    taskCalls.add(batch -> delete.queue(batch, new MutationCallback<Void>(mutation)));
+                }
+            }
+        }
 
-        // Delete the task
-        service.tasks().delete("@default", googleTaskId).execute();
+        if (!taskCalls.isEmpty()) {
+            executeBatched(tasks, taskCalls);
+        }
+        if (eventCalls.isEmpty() && eventsToFetch.isEmpty()) {
+            return;
+        }
+        calendar = calendar != null ? calendar : calendarFor(accessToken);
+        executeBatched(calendar, eventCalls);
+
+        // Read current state of events to update (including 409 conflicts from the inserts above)
+        List<BatchCall> fetchCalls = new ArrayList<>();
+        for (Mutation mutation : eventsToFetch) {
+            Calendar.Events.Get get = calendar.events().get(PRIMARY_CALENDAR, mutation.googleId);
+            fetchCalls.add(batch -> get.queue(batch, new MutationCallback<>(mutation) {
+                @Override
+                public void onSuccess(Event current, HttpHeaders responseHeaders) {
+                    eventsToUpdate.put(mutation, current);
+                }
+            }));
+        }
+        executeBatched(calendar, fetchCalls);
+
+        List<BatchCall> updateCalls = new ArrayList<>();
+        for (Map.Entry<Mutation, Event> entry : eventsToUpdate.entrySet()) {
+            Mutation mutation = entry.getKey();
+            Event event = entry.getValue();
+            applyReminder(event, mutation.reminder, userTimezone);
+            Calendar.Events.Update update = calendar.events().update(PRIMARY_CALENDAR, mutation.googleId, event);
+            updateCalls.add(batch -> update.queue(batch, new MutationCallback<Event>(mutation)));
+        }
+        executeBatched(calendar, updateCalls);
+    }
 
-        System.out.println("[Google Tasks] ✓ Deleted task ID: " + googleTaskId);
+    /**
+     * Events in the primary calendar changed since syncToken, including deleted ones
+     * (status "cancelled"). With a null syncToken, lists every event (full sync).
+     *
+     * @return the changes and the token for the next call, or null if Google expired the
+     *         syncToken (HTTP 410) and a full sync is needed
+     */
+    public EventChanges listEventChanges(String accessToken, String syncToken) throws IOException {
+        Calendar.Events.List request = calendarFor(accessToken).events().list(PRIMARY_CALENDAR)
+                .setMaxResults(EVENT_PAGE_SIZE)
+                .setShowDeleted(syncToken != null)
+                .setSyncToken(syncToken);
+        List<Event> events = new ArrayList<>();
+        Events page;
+        try {
+            do {
+                page = request.execute();
+                if (page.getItems() != null) {
+                    events.addAll(page.getItems());
+                }
+                request.setPageToken(page.getNextPageToken());
+            } while (page.getNextPageToken() != null);
+        } catch (GoogleJsonResponseException e) {
+            if (syncToken != null && e.getStatusCode() == 410) {
+                return null;
+            }
+            throw e;
+        }
+        return new EventChanges(events, page.getNextSyncToken());
+    }
+
+    private static void executeBatched(AbstractGoogleClient client, List<BatchCall> calls) throws IOException {
+        for (int from = 0; from < calls.size(); from += MAX_BATCH_SIZE) {
+            BatchRequest batch = client.batch();
+            for (BatchCall call : calls.subList(from, Math.min(calls.size(), from + MAX_BATCH_SIZE))) {
+                call.queue(batch);
+            }
+            batch.execute();
+        }
+    }
+
+    /**
+     * Build a Google Task from a followup reminder
+     */
+    private Task buildTask(Reminder reminder) {
+        Task task = new Task()
+                .setTitle(reminder.getTitle() != null ? reminder.getTitle() : "Job Application Task")
+                .setNotes(buildTaskDescription(reminder));
+
+        // Set due date (Google Tasks uses RFC 3339 format)
+        if (reminder.getTriggerAt() != null) {
+            // Convert LocalDate to RFC 3339 format: 2025-12-14T00:00:00Z
+            task.setDue(reminder.getTriggerAt().toString() + "T00:00:00Z");
+        }
+        return task;
     }
 
     /**
@@ -466,4 +548,156 @@ public class GoogleCalendarService {
 
         return description.toString();
     }
-}
\ No newline at end of file
+
+    private Calendar calendarFor(String accessToken) {
+        return clientsFor(accessToken).calendar;
+    }
+
+    private Tasks tasksFor(String accessToken) {
+        return clientsFor(accessToken).tasks;
+    }
+
+    private GoogleClients clientsFor(String accessToken) {
+        return clients.computeIfAbsent(accessToken, token -> {
+            HttpCredentialsAdapter credentials = new HttpCredentialsAdapter(
+                    GoogleCredentials.create(new AccessToken(token, null)));
+            return new GoogleClients(
+                    new Calendar.Builder(httpTransport, JSON_FACTORY, credentials)
+                            .setApplicationName(APPLICATION_NAME)
+                            .build(),
+                    new Tasks.Builder(httpTransport, JSON_FACTORY, credentials)
+                            .setApplicationName(APPLICATION_NAME)
+                            .build());
+        });
+    }
+
+    private static final class GoogleClients {
+        final Calendar calendar;
+        final Tasks tasks;
+
+        GoogleClients(Calendar calendar, Tasks tasks) {
+            this.calendar = calendar;
+            this.tasks = tasks;
+        }
+    }
+
+    @FunctionalInterface
+    private interface BatchCall {
+        void queue(BatchRequest batch) throws IOException;
+    }
+
+    /**
+     * Records a batched call's outcome on its mutation
+     */
+    private static class MutationCallback<T> extends JsonBatchCallback<T> {
+        private final Mutation mutation;
+
+        MutationCallback(Mutation mutation) {
+            this.mutation = mutation;
+        }
+
+        @Override
+        public void onSuccess(T result, HttpHeaders responseHeaders) {
+            mutation.succeed(mutation.googleId);
+        }
+
+        @Override
+        public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+            mutation.fail(error.getCode(), error.getMessage());
+        }
+    }
+
+    /**
+     * Result of {@link #listEventChanges}
+     */
+    public static final class EventChanges {
+        private final List<Event> events;
+        private final String nextSyncToken;
+
+        EventChanges(List<Event> events, String nextSyncToken) {
+            this.events = events;
+            this.nextSyncToken = nextSyncToken;
+        }
+
+        public List<Event> getEvents() { return events; }
+        public String getNextSyncToken() { return nextSyncToken; }
+    }
+
+    /**
+     * One event/task change for {@link #applyBatch}, with its outcome once applied
+     */
+    public static final class Mutation {
+
+        public enum Type { CREATE_EVENT, UPDATE_EVENT, DELETE_EVENT, CREATE_TASK, UPDATE_TASK, DELETE_TASK }
+
+        private final Type type;
+        private final Reminder reminder;
+        private final String googleId;
+        private boolean applied;
+        private String resultId;
+        private int errorCode;
+        private String errorMessage;
+
+        private Mutation(Type type, Reminder reminder, String googleId) {
+            this.type = type;
+            this.reminder = reminder;
+            this.googleId = googleId;
+        }
+
+        /**
+         * @param eventId caller-chosen event ID (idempotency key), or null to let Google assign one
+         */
+        public static Mutation createEvent(Reminder reminder, String eventId) {
+            return new Mutation(Type.CREATE_EVENT, reminder, eventId);
+        }
+
+        public static Mutation updateEvent(Reminder reminder, String eventId) {
+            return new Mutation(Type.UPDATE_EVENT, reminder, eventId);
+        }
+
+        public static Mutation deleteEvent(String eventId) {
+            return new Mutation(Type.DELETE_EVENT, null, eventId);
+        }
+
+        public static Mutation createTask(Reminder reminder) {
+            return new Mutation(Type.CREATE_TASK, reminder, null);
+        }
+
+        public static Mutation updateTask(Reminder reminder, String taskId) {
+            return new Mutation(Type.UPDATE_TASK, reminder, taskId);
+        }
+
+        public static Mutation deleteTask(String taskId) {
+            return new Mutation(Type.DELETE_TASK, null, taskId);
+        }
+
+        private void succeed(String id) {
+            applied = true;
+            resultId = id;
+        }
+
+        private void fail(int code, String message) {
+            errorCode = code;
+            errorMessage = message;
+        }
+
+        public Type getType() { return type; }
+        public Reminder getReminder() { return reminder; }
+        public String getGoogleId() { return googleId; }
+
+        public boolean isApplied() { return applied; }
+
+        /**
+         * Target event/task no longer exists in Google (404/410)
+         */
+        public boolean isMissing() { return errorCode == 404 || errorCode == 410; }
+
+        /**
+         * Google ID of the created/updated event or task
+         */
+        public String getResultId() { return resultId; }
+
+        public int getErrorCode() { return errorCode; }
+        public String getErrorMessage() { return errorMessage; }
+    }
+}
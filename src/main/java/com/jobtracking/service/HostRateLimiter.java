@@ -0,0 +1,44 @@
+package com.jobtracking.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces out requests to a single host so concurrent workers stay under the
+ * provider's per-minute quota. A Retry-After from the server pushes the next
+ * slot out for every caller, not just the one that was throttled.
+ */
+public class HostRateLimiter {
+
+    private final long intervalNanos;
+    private long nextSlotNanos = System.nanoTime();
+
+    public HostRateLimiter(int requestsPerMinute) {
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, requestsPerMinute);
+    }
+
+    /**
+     * Block until the caller may send its next request
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextSlotNanos);
+            nextSlotNanos = slot + intervalNanos;
+            waitNanos = slot - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Hold back all callers for at least the given number of milliseconds
+     */
+    public synchronized void pauseFor(long millis) {
+        long resumeAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        if (resumeAt > nextSlotNanos) {
+            nextSlotNanos = resumeAt;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.jobtracking.service;
+
+import com.jobtracking.dto.JobUpsertResult;
+import com.jobtracking.model.Job;
+import com.jobtracking.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Persistence step of the job feed pipeline.
+ * Upserts fetched jobs in JDBC batches keyed on external_id and re-indexes only the
+ * rows that were actually inserted or changed.
+ */
+@Service
+public class JobIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobIngestionService.class);
+
+    private final JobRepository jobRepository;
+    private final JobSearchIndex jobSearchIndex;
+
+    public JobIngestionService(JobRepository jobRepository, JobSearchIndex jobSearchIndex) {
+        this.jobRepository = jobRepository;
+        this.jobSearchIndex = jobSearchIndex;
+    }
+
+    /**
+     * Upsert a batch of jobs and keep the recommendation index in sync.
+     * Serialized so concurrent batches cannot race on the same external_id.
+     */
+    public synchronized JobUpsertResult ingest(List<Job> jobs) {
+        if (jobs.isEmpty()) {
+            return new JobUpsertResult();
+        }
+
+        JobUpsertResult result = jobRepository.upsertAll(jobs);
+        if (!result.getChangedJobs().isEmpty()) {
+            jobSearchIndex.indexAll(result.getChangedJobs());
+        }
+
+        logger.debug("Ingested {} jobs: {}", jobs.size(), result);
+        return result;
+    }
+
+    /**
+     * Soft-expire jobs that no sync has returned since the cutoff and drop them from the index
+     */
+    public synchronized int expireNotSeenSince(LocalDateTime cutoff) {
+        List<UUID> expired = jobRepository.expireNotSeenSince(cutoff);
+        if (!expired.isEmpty()) {
+            jobSearchIndex.removeAll(expired);
+        }
+        return expired.size();
+    }
+}
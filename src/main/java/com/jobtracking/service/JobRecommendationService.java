@@ -1,11 +1,15 @@
 package com.jobtracking.service;
 
 import com.jobtracking.dto.JobDto;
+import com.jobtracking.dto.JobSummaryDto;
+import com.jobtracking.dto.JobUpsertResult;
 import com.jobtracking.model.Job;
 import com.jobtracking.repository.JobRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -14,19 +18,34 @@ public class JobRecommendationService {
 
     private final JobRepository jobRepository;
     private final AdzunaClient adzunaClient;
+    private final JobSearchIndex jobSearchIndex;
+    private final AppliedJobExclusionCache appliedJobExclusionCache;
 
     public JobRecommendationService(JobRepository jobRepository,
-                                    AdzunaClient adzunaClient) {
+                                    AdzunaClient adzunaClient,
+                                    JobSearchIndex jobSearchIndex,
+                                    AppliedJobExclusionCache appliedJobExclusionCache) {
         this.jobRepository = jobRepository;
         this.adzunaClient = adzunaClient;
+        this.jobSearchIndex = jobSearchIndex;
+        this.appliedJobExclusionCache = appliedJobExclusionCache;
     }
 
-    public int refreshJobs(String query, String location) {
-        List<Job> saved = adzunaClient.fetchAndSaveJobs(query, location);
-        return saved.size();
+    public JobUpsertResult refreshJobs(String query, String location) {
+        return adzunaClient.fetchAndSaveJobs(query, location);
     }
 
     public List<JobDto> recommendJobs(List<String> skills, int limit) {
+        return recommendJobs(skills, limit, null);
+    }
+
+    /**
+     * Recommend jobs, skipping jobs the given user has already applied to during ranking
+     * so the result still holds up to {@code limit} eligible jobs.
+     *
+     * @param excludeAppliedByUserId User whose applied jobs are excluded, or null for none
+     */
+    public List<JobDto> recommendJobs(List<String> skills, int limit, UUID excludeAppliedByUserId) {
         if (skills == null || skills.isEmpty()) {
             return Collections.emptyList();
         }
@@ -38,63 +57,75 @@ public class JobRecommendationService {
                 .map(String::trim)
                 .collect(Collectors.toList());
 
-        List<Job> allJobs = jobRepository.findAll();
+        // Only the postings for the requested skills are touched; top-K is selected in the index
+        BitSet excluded = excludeAppliedByUserId != null
+                ? appliedJobExclusionCache.getExcludedOrdinals(excludeAppliedByUserId)
+                : null;
+        List<JobSearchIndex.ScoredJob> top = jobSearchIndex.search(normalizedSkills, limit, excluded);
+        if (top.isEmpty()) {
+            return Collections.emptyList();
+        }
 
-        List<JobDto> scored = new ArrayList<>();
-        for (Job job : allJobs) {
-            String text = buildSearchText(job).toLowerCase();
+        List<UUID> topIds = new ArrayList<>(top.size());
+        for (JobSearchIndex.ScoredJob hit : top) {
+            topIds.add(hit.getJobId());
+        }
 
-            int score = 0;
-            for (String skill : normalizedSkills) {
-                if (skill.isEmpty()) {
-                    continue;
-                }
-                if (text.contains(skill)) {
-                    score++;
-                }
-            }
+        // Load full rows and build DTOs only for the winners
+        Map<UUID, Job> jobsById = new HashMap<>();
+        for (Job job : jobRepository.findAllById(topIds)) {
+            jobsById.put(job.getId(), job);
+        }
 
-            if (score > 0) {
-                scored.add(new JobDto(
-                        job.getId(),
-                        job.getTitle(),
-                        job.getCompany(),
-                        job.getSalary(),
-                        job.getDescription(),
-                        job.getLocation(),
-                        job.getExternalUrl(),
-                        score
-                ));
+        List<JobDto> results = new ArrayList<>(top.size());
+        for (JobSearchIndex.ScoredJob hit : top) {
+            Job job = jobsById.get(hit.getJobId());
+            if (job == null) {
+                continue;
             }
+            results.add(new JobDto(
+                    job.getId(),
+                    job.getTitle(),
+                    job.getCompany(),
+                    job.getSalary(),
+                    job.getDescription(),
+                    job.getLocation(),
+                    job.getExternalUrl(),
+                    hit.getScore()
+            ));
         }
+        return results;
+    }
 
-        // sort by score descending, then title as tie-breaker
-        scored.sort(Comparator
-                .comparingInt(JobDto::getScore)
-                .reversed()
-                .thenComparing(JobDto::getTitle));
-
-        if (limit > 0 && scored.size() > limit) {
-            return scored.subList(0, limit);
+    /**
+     * One keyset page of jobs (newest first) that the user has not applied to.
+     * Pass null cursor values for the first page.
+     *
+     * @param search Case-insensitive substring of company or title, or null for every job
+     */
+    public List<JobSummaryDto> getJobPage(UUID userId, LocalDateTime afterCreatedAt, UUID afterId, int limit,
+                                          String search) {
+        PageRequest page = PageRequest.of(0, limit);
+        String pattern = likePattern(search);
+        if (afterCreatedAt == null || afterId == null) {
+            return jobRepository.findFirstPageForUser(userId, pattern, page);
         }
-        return scored;
+        return jobRepository.findPageAfterForUser(afterCreatedAt, afterId, userId, pattern, page);
     }
 
-    public List<Job> getAllJobs() {
-        return jobRepository.findAll();
+    // Lower-case contains pattern with LIKE wildcards escaped by '!'; '%' matches everything
+    private static String likePattern(String search) {
+        if (search == null || search.isBlank()) {
+            return "%";
+        }
+        String escaped = search.trim().toLowerCase()
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return "%" + escaped + "%";
     }
 
-    private String buildSearchText(Job job) {
-        StringBuilder sb = new StringBuilder();
-        if (job.getTitle() != null) {
-            sb.append(job.getTitle()).append(" ");
-        }
-        if (job.getCompany() != null) {
-            sb.append(job.getCompany()).append(" ");
-        }
-        if (job.getDescription() != null) {
-            sb.append(job.getDescription());
-        }
-        return sb.toString();
+    public boolean hasJobs() {
+        return jobRepository.count() > 0;
     }
 }
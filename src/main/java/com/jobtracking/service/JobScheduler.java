@@ -1,5 +1,6 @@
 package com.jobtracking.service;
 
+import com.jobtracking.dto.JobUpsertResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -12,35 +13,44 @@ public class JobScheduler {
 
     private static final Logger logger = LoggerFactory.getLogger(JobScheduler.class);
     private final JobRecommendationService recommendationService;
+    private final AdzunaHarvester adzunaHarvester;
 
-    public JobScheduler(JobRecommendationService recommendationService) {
+    public JobScheduler(JobRecommendationService recommendationService,
+                        AdzunaHarvester adzunaHarvester) {
         this.recommendationService = recommendationService;
+        this.adzunaHarvester = adzunaHarvester;
     }
 
     // Run every day at 8:00 AM
     @Scheduled(cron = "0 0 8 * * *")
     public void fetchJobsDaily() {
-        logger.info("Starting daily job fetch...");
-        performFetch();
+        logger.info("Starting daily job harvest...");
+        try {
+            JobUpsertResult result = adzunaHarvester.harvest();
+            logger.info("Job harvest completed. {}", result);
+        } catch (Exception e) {
+            logger.error("Error during job harvest: {}", e.getMessage());
+        }
     }
 
     // Also run on startup if the database is empty, so the app isn't empty on first run
     @PostConstruct
     public void init() {
-        if (recommendationService.getAllJobs().isEmpty()) {
+        if (!recommendationService.hasJobs()) {
             logger.info("Database is empty on startup. Performing initial fetch...");
             performFetch();
         }
     }
 
+    // Single page seed so startup isn't held up by a full harvest
     private void performFetch() {
         try {
             // Default search parameters
             String query = "software engineer";
             String location = "United States";
 
-            int count = recommendationService.refreshJobs(query, location);
-            logger.info("Job fetch completed. Updated/Saved {} jobs.", count);
+            JobUpsertResult result = recommendationService.refreshJobs(query, location);
+            logger.info("Job fetch completed. {}", result);
         } catch (Exception e) {
             logger.error("Error during job fetch: {}", e.getMessage());
         }
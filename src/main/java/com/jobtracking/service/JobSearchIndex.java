@@ -0,0 +1,531 @@
+package com.jobtracking.service;
+
+import com.jobtracking.model.Job;
+import com.jobtracking.repository.JobRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over job postings.
+ * Each job gets a dense int ordinal; every token found in a job's title, company and
+ * description maps to a sorted int[] posting list of ordinals. Scoring accumulates into
+ * a reusable int[] and a bounded min-heap selects the top-K, so a request allocates
+ * O(limit) objects no matter how many jobs match.
+ *
+ * The index is built from the database on first use and then kept up to date
+ * incrementally as new jobs are saved. Re-indexing a job retires its old ordinal
+ * and assigns a new one, so posting lists stay append-only. Once retired ordinals outnumber
+ * live ones the index is compacted: live jobs are renumbered densely and dead entries dropped.
+ */
+@Component
+public class JobSearchIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    // Retired ordinals tolerated before compaction is considered
+    private static final int COMPACT_MIN_DEAD = 4096;
+
+    private final JobRepository jobRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<UUID, Integer> ordinalsById = new HashMap<>();
+    private UUID[] idsByOrdinal = new UUID[INITIAL_CAPACITY];
+    private String[] titlesByOrdinal = new String[INITIAL_CAPACITY];
+    private final BitSet live = new BitSet();
+    private int nextOrdinal = 0;
+    private volatile long generation = 0;
+    private volatile boolean loaded = false;
+
+    // Scoring buffers reused across requests; one is held per in-flight search
+    private final ConcurrentLinkedQueue<Scratch> scratchPool = new ConcurrentLinkedQueue<>();
+
+    public JobSearchIndex(JobRepository jobRepository) {
+        this.jobRepository = jobRepository;
+    }
+
+    /**
+     * A ranked search hit: job ID plus the number of matched skills
+     */
+    public static final class ScoredJob {
+        private final UUID jobId;
+        private final int score;
+
+        ScoredJob(UUID jobId, int score) {
+            this.jobId = jobId;
+            this.score = score;
+        }
+
+        public UUID getJobId() { return jobId; }
+        public int getScore() { return score; }
+    }
+
+    /**
+     * Add (or re-add) a single job to the index
+     */
+    public void index(Job job) {
+        ensureLoaded();
+        lock.writeLock().lock();
+        try {
+            addToIndex(job);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add a batch of jobs to the index under a single lock acquisition
+     */
+    public void indexAll(Collection<Job> jobs) {
+        ensureLoaded();
+        lock.writeLock().lock();
+        try {
+            for (Job job : jobs) {
+                addToIndex(job);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop jobs from the index (e.g. after they expire). Their ordinals are retired, not reused.
+     */
+    public void removeAll(Collection<UUID> jobIds) {
+        ensureLoaded();
+        lock.writeLock().lock();
+        try {
+            for (UUID jobId : jobIds) {
+                Integer ordinal = ordinalsById.remove(jobId);
+                if (ordinal != null) {
+                    live.clear(ordinal);
+                    titlesByOrdinal[ordinal] = null;
+                }
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Score jobs against the given skills and return the best {@code limit} of them.
+     * A job scores one point per skill whose tokens all appear in the job's text.
+     * Results are ordered by score descending, then title.
+     *
+     * @param skills Raw skill strings (e.g. "python", "machine learning")
+     * @param limit Maximum number of results; 0 or less returns every match
+     */
+    public List<ScoredJob> search(List<String> skills, int limit) {
+        return search(skills, limit, null);
+    }
+
+    /**
+     * Same as {@link #search(List, int)}, but skips excluded ordinals while scoring,
+     * so the result still holds {@code limit} eligible jobs when enough exist.
+     *
+     * @param excluded Ordinals to skip (see {@link #toOrdinals}), or null
+     */
+    public List<ScoredJob> search(List<String> skills, int limit, BitSet excluded) {
+        ensureLoaded();
+        Scratch s = scratchPool.poll();
+        if (s == null) {
+            s = new Scratch();
+        }
+
+        lock.readLock().lock();
+        try {
+            s.ensureCapacity(nextOrdinal);
+            s.excluded = excluded;
+            for (String skill : skills) {
+                accumulate(skill, s);
+            }
+            return selectTop(s, limit > 0 ? limit : s.touchedCount);
+        } finally {
+            lock.readLock().unlock();
+            s.reset();
+            scratchPool.offer(s);
+        }
+    }
+
+    /**
+     * Map job IDs to their current ordinals. IDs not in the index are ignored.
+     * The returned set is only valid while {@link #generation()} is unchanged.
+     */
+    public BitSet toOrdinals(Collection<UUID> jobIds) {
+        ensureLoaded();
+        BitSet ordinals = new BitSet();
+        lock.readLock().lock();
+        try {
+            for (UUID jobId : jobIds) {
+                Integer ordinal = ordinalsById.get(jobId);
+                if (ordinal != null) {
+                    ordinals.set(ordinal);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ordinals;
+    }
+
+    /**
+     * Current ordinal ID of a job, or -1 if it is not indexed
+     */
+    public int ordinalOf(UUID jobId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Integer ordinal = ordinalsById.get(jobId);
+            return ordinal != null ? ordinal : -1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Incremented whenever an existing job moves to a new ordinal (re-index or compaction).
+     * Callers caching ordinal sets must rebuild them when this changes.
+     */
+    public long generation() {
+        return generation;
+    }
+
+    /**
+     * Split text into lower-case index tokens.
+     * Keeps '+' and '#' so skills like "c++" and "c#" survive tokenization.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            boolean tokenChar = Character.isLetterOrDigit(c) || c == '+' || c == '#';
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // Add one point to every live job containing all tokens of the skill
+    private void accumulate(String skill, Scratch s) {
+        List<String> tokens = tokenize(skill);
+        if (tokens.isEmpty()) {
+            return;
+        }
+
+        PostingList[] lists = new PostingList[tokens.size()];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings.get(tokens.get(i));
+            if (lists[i] == null) {
+                return;
+            }
+        }
+
+        if (lists.length == 1) {
+            PostingList list = lists[0];
+            for (int i = 0; i < list.size; i++) {
+                s.hit(list.ordinals[i], live);
+            }
+            return;
+        }
+
+        // Intersect starting from the smallest posting list
+        Arrays.sort(lists, Comparator.comparingInt(l -> l.size));
+        int[] candidates = s.intersection(lists[0].size);
+        System.arraycopy(lists[0].ordinals, 0, candidates, 0, lists[0].size);
+        int count = lists[0].size;
+        for (int i = 1; i < lists.length && count > 0; i++) {
+            count = intersect(candidates, count, lists[i]);
+        }
+        for (int i = 0; i < count; i++) {
+            s.hit(candidates[i], live);
+        }
+    }
+
+    // In-place intersection of sorted candidates with a sorted posting list
+    private static int intersect(int[] candidates, int count, PostingList list) {
+        int out = 0;
+        int j = 0;
+        for (int i = 0; i < count && j < list.size; ) {
+            int a = candidates[i];
+            int b = list.ordinals[j];
+            if (a == b) {
+                candidates[out++] = a;
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return out;
+    }
+
+    // Bounded min-heap over touched ordinals; the root is the weakest kept result
+    private List<ScoredJob> selectTop(Scratch s, int k) {
+        if (k <= 0 || s.touchedCount == 0) {
+            return Collections.emptyList();
+        }
+
+        int[] scores = s.scores;
+        int[] heap = new int[Math.min(k, s.touchedCount)];
+        int heapSize = 0;
+
+        for (int i = 0; i < s.touchedCount; i++) {
+            int ordinal = s.touched[i];
+            if (heapSize < heap.length) {
+                heap[heapSize] = ordinal;
+                siftUp(heap, heapSize++, scores);
+            } else if (ranksBefore(ordinal, heap[0], scores)) {
+                heap[0] = ordinal;
+                siftDown(heap, heapSize, scores);
+            }
+        }
+
+        // Drain weakest-first into the tail of the result
+        ScoredJob[] ranked = new ScoredJob[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            int ordinal = heap[0];
+            ranked[i] = new ScoredJob(idsByOrdinal[ordinal], scores[ordinal]);
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize, scores);
+        }
+        return Arrays.asList(ranked);
+    }
+
+    private void siftUp(int[] heap, int index, int[] scores) {
+        int ordinal = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksBefore(heap[parent], ordinal, scores)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = ordinal;
+    }
+
+    private void siftDown(int[] heap, int size, int[] scores) {
+        if (size == 0) {
+            return;
+        }
+        int index = 0;
+        int ordinal = heap[0];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && ranksBefore(heap[child], heap[child + 1], scores)) {
+                child++;
+            }
+            if (!ranksBefore(ordinal, heap[child], scores)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = ordinal;
+    }
+
+    // True if job a should be listed before job b: higher score, then title ascending
+    private boolean ranksBefore(int a, int b, int[] scores) {
+        if (scores[a] != scores[b]) {
+            return scores[a] > scores[b];
+        }
+        String titleA = titlesByOrdinal[a] != null ? titlesByOrdinal[a] : "";
+        String titleB = titlesByOrdinal[b] != null ? titlesByOrdinal[b] : "";
+        return titleA.compareTo(titleB) < 0;
+    }
+
+    private void addToIndex(Job job) {
+        if (job.getId() == null) {
+            return;
+        }
+
+        // Retire the previous ordinal so stale tokens no longer match
+        Integer previous = ordinalsById.get(job.getId());
+        if (previous != null) {
+            live.clear(previous);
+            titlesByOrdinal[previous] = null;
+            generation++;
+        }
+
+        int ordinal = nextOrdinal++;
+        if (ordinal == idsByOrdinal.length) {
+            idsByOrdinal = Arrays.copyOf(idsByOrdinal, ordinal * 2);
+            titlesByOrdinal = Arrays.copyOf(titlesByOrdinal, ordinal * 2);
+        }
+        idsByOrdinal[ordinal] = job.getId();
+        titlesByOrdinal[ordinal] = job.getTitle();
+        ordinalsById.put(job.getId(), ordinal);
+        live.set(ordinal);
+
+        for (String token : new HashSet<>(tokenize(buildSearchText(job)))) {
+            postings.computeIfAbsent(token, t -> new PostingList()).add(ordinal);
+        }
+    }
+
+    // Renumber live jobs densely once retired ordinals outnumber them. Called under the write lock;
+    // amortized O(1) per retirement since at least half the ordinals are dropped each time.
+    private void compactIfNeeded() {
+        int liveCount = ordinalsById.size();
+        int dead = nextOrdinal - liveCount;
+        if (dead < COMPACT_MIN_DEAD || dead < liveCount) {
+            return;
+        }
+
+        // Ordinals keep their relative order, so remapped posting lists stay sorted
+        int[] remap = new int[nextOrdinal];
+        Arrays.fill(remap, -1);
+        int capacity = Math.max(INITIAL_CAPACITY, liveCount + liveCount / 2);
+        UUID[] ids = new UUID[capacity];
+        String[] titles = new String[capacity];
+        int count = 0;
+        for (int old = live.nextSetBit(0); old >= 0; old = live.nextSetBit(old + 1)) {
+            remap[old] = count;
+            ids[count] = idsByOrdinal[old];
+            titles[count] = titlesByOrdinal[old];
+            ordinalsById.put(ids[count], count);
+            count++;
+        }
+
+        Iterator<PostingList> lists = postings.values().iterator();
+        while (lists.hasNext()) {
+            PostingList list = lists.next();
+            int out = 0;
+            for (int i = 0; i < list.size; i++) {
+                int ordinal = remap[list.ordinals[i]];
+                if (ordinal >= 0) {
+                    list.ordinals[out++] = ordinal;
+                }
+            }
+            list.size = out;
+            if (out == 0) {
+                lists.remove();
+            } else if (list.ordinals.length > out * 4) {
+                list.ordinals = Arrays.copyOf(list.ordinals, Math.max(4, out));
+            }
+        }
+
+        idsByOrdinal = ids;
+        titlesByOrdinal = titles;
+        live.clear();
+        live.set(0, count);
+        nextOrdinal = count;
+        generation++;
+        // Pooled scoring buffers are sized for the old ordinal range
+        scratchPool.clear();
+        System.out.println("[JobSearchIndex] Compacted " + dead + " retired ordinals; " + count + " jobs, "
+                + postings.size() + " tokens");
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                for (Job job : jobRepository.findByExpiredAtIsNull()) {
+                    addToIndex(job);
+                }
+                loaded = true;
+                System.out.println("[JobSearchIndex] Built index over " + ordinalsById.size() + " jobs, "
+                        + postings.size() + " tokens");
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private String buildSearchText(Job job) {
+        StringBuilder sb = new StringBuilder();
+        if (job.getTitle() != null) {
+            sb.append(job.getTitle()).append(" ");
+        }
+        if (job.getCompany() != null) {
+            sb.append(job.getCompany()).append(" ");
+        }
+        if (job.getDescription() != null) {
+            sb.append(job.getDescription());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Growable, sorted int[] of job ordinals.
+     * Ordinals are assigned in increasing order, so appends keep the list sorted.
+     */
+    private static final class PostingList {
+        int[] ordinals = new int[4];
+        int size = 0;
+
+        void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+    }
+
+    /**
+     * Score accumulator reused across requests, used by one search at a time.
+     * Only touched slots are reset, so clearing costs O(matches) rather than O(jobs).
+     */
+    private static final class Scratch {
+        int[] scores = new int[0];
+        int[] touched = new int[64];
+        int touchedCount = 0;
+        int[] intersection = new int[64];
+        BitSet excluded;
+
+        void ensureCapacity(int ordinals) {
+            if (scores.length < ordinals) {
+                scores = new int[Math.max(ordinals, scores.length * 2)];
+            }
+        }
+
+        void hit(int ordinal, BitSet live) {
+            if (!live.get(ordinal) || (excluded != null && excluded.get(ordinal))) {
+                return;
+            }
+            if (scores[ordinal]++ == 0) {
+                if (touchedCount == touched.length) {
+                    touched = Arrays.copyOf(touched, touchedCount * 2);
+                }
+                touched[touchedCount++] = ordinal;
+            }
+        }
+
+        int[] intersection(int size) {
+            if (intersection.length < size) {
+                intersection = new int[Math.max(size, intersection.length * 2)];
+            }
+            return intersection;
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                scores[touched[i]] = 0;
+            }
+            touchedCount = 0;
+            excluded = null;
+        }
+    }
+}
@@ -2,130 +2,268 @@ package com.jobtracking.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * LLM-powered email parsing using Claude API
  * Used as fallback when regex extraction fails or needs higher accuracy
+ *
+ * Requests go through a bounded queue: a dispatcher groups pending emails into one
+ * multi-email prompt (up to batch-size, waiting at most linger-ms for more emails) and a small
+ * worker pool sends the batches. HTTP calls have a request timeout and a circuit breaker
+ * stops calling the API for a while after repeated failures, so callers never stall on it.
+ * Results are cached by email content (LlmExtractionCache) and concurrent requests for the
+ * same content share one queued call, so repeated ATS templates never reach the API twice.
  */
 @Service
 public class LLMEmailParserService {
 
-    private static final String ANTHROPIC_API_URL = "https://api.anthropic.com/v1/messages";
+    private static final URI ANTHROPIC_API_URI = URI.create("https://api.anthropic.com/v1/messages");
     private static final String MODEL = "claude-sonnet-4-20250514";
+    private static final String[] NO_RESULT = {null, null};
 
-    @Value("${anthropic.api.key:}")
-    private String apiKey;
+    private final String apiKey;
+    private final OutboundHttpClient httpClient;
+    private final Duration requestTimeout;
+    private final int batchSize;
+    private final long lingerMs;
+    private final BlockingQueue<PendingExtraction> queue;
+    private final Semaphore workerPermits;
+    private final ExecutorService workers;
+    private final CircuitBreaker circuitBreaker;
+    private final Thread dispatcher;
+    private final LlmExtractionCache extractionCache;
+    private final Map<String, CompletableFuture<String[]>> inFlight = new ConcurrentHashMap<>();
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    public LLMEmailParserService(LlmExtractionCache extractionCache,
+                                 @Value("${anthropic.api.key:}") String apiKey,
+                                 OutboundHttpClient httpClient,
+                                 @Value("${anthropic.request-timeout-ms:30000}") long requestTimeoutMs,
+                                 @Value("${anthropic.queue.capacity:200}") int queueCapacity,
+                                 @Value("${anthropic.queue.batch-size:5}") int batchSize,
+                                 @Value("${anthropic.queue.linger-ms:250}") long lingerMs,
+                                 @Value("${anthropic.queue.concurrency:2}") int concurrency,
+                                 @Value("${anthropic.circuit.failure-threshold:5}") int failureThreshold,
+                                 @Value("${anthropic.circuit.open-ms:60000}") long openMs) {
+        this.extractionCache = extractionCache;
+        this.apiKey = apiKey;
+        this.httpClient = httpClient;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerMs = Math.max(0, lingerMs);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.workerPermits = new Semaphore(Math.max(1, concurrency));
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openMs);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, concurrency), r -> {
+            Thread t = new Thread(r, "llm-parser-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.dispatcher = new Thread(this::dispatchLoop, "llm-parser-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
     /**
      * Extract company and job title using Claude API
-     * Returns array: [company, jobTitle]
+     * Returns array: [company, jobTitle]. Blocks until the queued request completes.
      */
     public String[] extractCompanyAndTitle(String sender, String subject, String body) {
+        return extractCompanyAndTitleAsync(sender, subject, body).join();
+    }
+
+    /**
+     * Queue an extraction. The future always completes normally, with [company, jobTitle]
+     * or [null, null] when the key is missing, the queue is full, the circuit is open or the call fails.
+     * Cache hits complete immediately without an HTTP call.
+     */
+    public CompletableFuture<String[]> extractCompanyAndTitleAsync(String sender, String subject, String body) {
         // If API key not configured, return nulls
         if (apiKey == null || apiKey.isEmpty()) {
             System.out.println("[LLM Parser] API key not configured, skipping LLM extraction");
-            return new String[]{null, null};
+            return CompletableFuture.completedFuture(NO_RESULT);
+        }
+
+        String cacheKey = extractionCache.keyFor(sender, subject, body);
+        String[] cached = extractionCache.get(cacheKey);
+        if (cached != null) {
+            System.out.println("[LLM Parser] Cache hit - Company: " + cached[0] + ", Title: " + cached[1]);
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<String[]> pendingForKey = inFlight.get(cacheKey);
+        if (pendingForKey != null) {
+            return pendingForKey;
+        }
+
+        if (circuitBreaker.isOpen()) {
+            System.out.println("[LLM Parser] Circuit open, skipping LLM extraction");
+            return CompletableFuture.completedFuture(NO_RESULT);
         }
 
+        PendingExtraction pending = new PendingExtraction(cacheKey, sender, subject, body);
+        pendingForKey = inFlight.putIfAbsent(cacheKey, pending.result);
+        if (pendingForKey != null) {
+            return pendingForKey;
+        }
+        if (!queue.offer(pending)) {
+            inFlight.remove(cacheKey, pending.result);
+            System.out.println("[LLM Parser] Queue full (" + queue.size() + "), skipping LLM extraction");
+            return CompletableFuture.completedFuture(NO_RESULT);
+        }
+        pending.result.whenComplete((result, error) -> inFlight.remove(cacheKey, pending.result));
+        return pending.result;
+    }
+
+    /**
+     * Drain the queue into batches and hand each to a worker, waiting for a free worker first
+     */
+    private void dispatchLoop() {
         try {
-            String prompt = buildExtractionPrompt(sender, subject, body);
-            String response = callClaudeAPI(prompt);
-            return parseResponse(response);
+            while (!Thread.currentThread().isInterrupted()) {
+                List<PendingExtraction> batch = new ArrayList<>(batchSize);
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < batchSize) {
+                    PendingExtraction next = queue.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                workerPermits.acquire();
+                try {
+                    workers.execute(() -> {
+                        try {
+                            processBatch(batch);
+                        } finally {
+                            workerPermits.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    workerPermits.release();
+                    completeAll(batch, NO_RESULT);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
+    private void processBatch(List<PendingExtraction> batch) {
+        if (!circuitBreaker.allowRequest()) {
+            completeAll(batch, NO_RESULT);
+            return;
+        }
+        try {
+            String prompt = batch.size() == 1
+                    ? buildExtractionPrompt(batch.get(0))
+                    : buildBatchExtractionPrompt(batch);
+            JsonNode response = callClaudeAPI(prompt, 100 + 100 * batch.size());
+            circuitBreaker.recordSuccess();
+
+            List<String[]> results = parseResponse(response, batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                PendingExtraction pending = batch.get(i);
+                String[] result = results.get(i);
+                // NO_RESULT marks an unparseable answer - retry next time instead of caching it
+                if (result != NO_RESULT) {
+                    extractionCache.put(pending.cacheKey, result);
+                }
+                pending.result.complete(result);
+            }
         } catch (Exception e) {
-            System.err.println("[LLM Parser] Error: " + e.getMessage());
-            return new String[]{null, null};
+            circuitBreaker.recordFailure();
+            System.err.println("[LLM Parser] Error (" + batch.size() + " emails): " + e.getMessage());
+            completeAll(batch, NO_RESULT);
+        }
+    }
+
+    private static void completeAll(List<PendingExtraction> batch, String[] result) {
+        for (PendingExtraction pending : batch) {
+            pending.result.complete(result);
         }
     }
 
     /**
      * Build prompt for Claude API
      */
-    private String buildExtractionPrompt(String sender, String subject, String body) {
+    private String buildExtractionPrompt(PendingExtraction email) {
+        return "Extract the company name and job title from this job application email. " +
+                "Return ONLY a JSON object with format: {\"company\": \"...\", \"title\": \"...\"}. " +
+                "If you cannot determine either field, use \"Unknown\" for that field.\n\n" +
+                "Email Details:\n" +
+                describe(email) + "\n" +
+                "JSON Response:";
+    }
+
+    /**
+     * Build one prompt covering several emails; the answer is a JSON array in the same order
+     */
+    private String buildBatchExtractionPrompt(List<PendingExtraction> batch) {
+        StringBuilder prompt = new StringBuilder(
+                "Extract the company name and job title from each of the following " + batch.size() +
+                        " job application emails. " +
+                        "Return ONLY a JSON array with exactly " + batch.size() + " objects, in the same order as the emails, " +
+                        "each with format: {\"company\": \"...\", \"title\": \"...\"}. " +
+                        "If you cannot determine either field, use \"Unknown\" for that field.\n\n");
+        for (int i = 0; i < batch.size(); i++) {
+            prompt.append("Email ").append(i + 1).append(":\n").append(describe(batch.get(i))).append('\n');
+        }
+        prompt.append("JSON Response:");
+        return prompt.toString();
+    }
+
+    private static String describe(PendingExtraction email) {
         return String.format(
-                "Extract the company name and job title from this job application email. " +
-                        "Return ONLY a JSON object with format: {\"company\": \"...\", \"title\": \"...\"}. " +
-                        "If you cannot determine either field, use \"Unknown\" for that field.\n\n" +
-                        "Email Details:\n" +
-                        "From: %s\n" +
+                "From: %s\n" +
                         "Subject: %s\n" +
-                        "Body: %s\n\n" +
-                        "JSON Response:",
-                sender != null ? sender : "N/A",
-                subject != null ? subject : "N/A",
-                body != null ? body.substring(0, Math.min(500, body.length())) : "N/A"
+                        "Body: %s\n",
+                email.sender != null ? email.sender : "N/A",
+                email.subject != null ? email.subject : "N/A",
+                email.body != null ? email.body.substring(0, Math.min(LlmExtractionCache.BODY_PREFIX_CHARS, email.body.length())) : "N/A"
         );
     }
 
     /**
-     * Call Claude API
+     * Call Claude API through the shared pooled HTTP client; the response is decoded straight from the stream
      */
-    private String callClaudeAPI(String prompt) throws Exception {
-        URL url = new URL(ANTHROPIC_API_URL);
-        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-
-        // Set headers
-        conn.setRequestMethod("POST");
-        conn.setRequestProperty("Content-Type", "application/json");
-        conn.setRequestProperty("x-api-key", apiKey);
-        conn.setRequestProperty("anthropic-version", "2023-06-01");
-        conn.setDoOutput(true);
-
-        // Build request body
-        String requestBody = String.format(
-                "{" +
-                        "\"model\": \"%s\"," +
-                        "\"max_tokens\": 200," +
-                        "\"messages\": [{" +
-                        "\"role\": \"user\"," +
-                        "\"content\": %s" +
-                        "}]" +
-                        "}",
-                MODEL,
-                objectMapper.writeValueAsString(prompt)
+    private JsonNode callClaudeAPI(String prompt, int maxTokens) {
+        Map<String, Object> requestBody = Map.of(
+                "model", MODEL,
+                "max_tokens", maxTokens,
+                "messages", List.of(Map.of(
+                        "role", "user",
+                        "content", prompt
+                ))
         );
-
-        // Send request
-        try (OutputStream os = conn.getOutputStream()) {
-            byte[] input = requestBody.getBytes(StandardCharsets.UTF_8);
-            os.write(input, 0, input.length);
-        }
-
-        // Read response
-        int responseCode = conn.getResponseCode();
-        if (responseCode != 200) {
-            throw new RuntimeException("API returned status: " + responseCode);
-        }
-
-        StringBuilder response = new StringBuilder();
-        try (BufferedReader br = new BufferedReader(
-                new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8))) {
-            String responseLine;
-            while ((responseLine = br.readLine()) != null) {
-                response.append(responseLine.trim());
-            }
-        }
-
-        return response.toString();
+        return httpClient.postJson("anthropic", ANTHROPIC_API_URI, requestTimeout,
+                Map.of("x-api-key", apiKey, "anthropic-version", "2023-06-01"),
+                requestBody, JsonNode.class);
     }
 
     /**
-     * Parse Claude API response to extract company and title
+     * Parse Claude API response to extract company and title for each email in the batch.
+     * Always returns expected entries; emails the response does not cover get [null, null].
      */
-    private String[] parseResponse(String apiResponse) {
+    private List<String[]> parseResponse(JsonNode root, int expected) {
+        List<String[]> results = new ArrayList<>(expected);
         try {
-            JsonNode root = objectMapper.readTree(apiResponse);
 
             // Get the text content from response
             JsonNode contentArray = root.path("content");
@@ -135,28 +273,44 @@ public class LLMEmailParserService {
                 // Extract JSON from text (Claude might wrap it in markdown)
                 text = text.replaceAll("```json\\s*", "").replaceAll("```\\s*", "").trim();
 
-                // Parse the JSON
+                // Parse the JSON: an object for a single email, an array for a batch
                 JsonNode extracted = objectMapper.readTree(text);
-                String company = extracted.path("company").asText("Unknown");
-                String title = extracted.path("title").asText("Unknown");
-
-                // Clean up "Unknown" values
-                if (company.equalsIgnoreCase("unknown") || company.equalsIgnoreCase("n/a")) {
-                    company = null;
+                if (extracted.isArray()) {
+                    for (int i = 0; i < extracted.size() && i < expected; i++) {
+                        results.add(toResult(extracted.get(i)));
+                    }
+                } else if (expected == 1) {
+                    results.add(toResult(extracted));
                 }
-                if (title.equalsIgnoreCase("unknown") || title.equalsIgnoreCase("n/a")) {
-                    title = null;
+                if (results.size() < expected) {
+                    System.err.println("[LLM Parser] Response covered " + results.size() + " of " + expected + " emails");
                 }
-
-                System.out.println("[LLM Parser] Extracted - Company: " + company + ", Title: " + title);
-                return new String[]{company, title};
             }
 
         } catch (Exception e) {
             System.err.println("[LLM Parser] Failed to parse response: " + e.getMessage());
         }
 
-        return new String[]{null, null};
+        while (results.size() < expected) {
+            results.add(NO_RESULT);
+        }
+        return results;
+    }
+
+    private String[] toResult(JsonNode extracted) {
+        String company = extracted.path("company").asText("Unknown");
+        String title = extracted.path("title").asText("Unknown");
+
+        // Clean up "Unknown" values
+        if (company.equalsIgnoreCase("unknown") || company.equalsIgnoreCase("n/a")) {
+            company = null;
+        }
+        if (title.equalsIgnoreCase("unknown") || title.equalsIgnoreCase("n/a")) {
+            title = null;
+        }
+
+        System.out.println("[LLM Parser] Extracted - Company: " + company + ", Title: " + title);
+        return new String[]{company, title};
     }
 
     /**
@@ -165,4 +319,28 @@ public class LLMEmailParserService {
     public boolean isConfigured() {
         return apiKey != null && !apiKey.isEmpty();
     }
-}
\ No newline at end of file
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.interrupt();
+        workers.shutdownNow();
+        List<PendingExtraction> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        completeAll(remaining, NO_RESULT);
+    }
+
+    private static final class PendingExtraction {
+        final String cacheKey;
+        final String sender;
+        final String subject;
+        final String body;
+        final CompletableFuture<String[]> result = new CompletableFuture<>();
+
+        PendingExtraction(String cacheKey, String sender, String subject, String body) {
+            this.cacheKey = cacheKey;
+            this.sender = sender;
+            this.subject = subject;
+            this.body = body;
+        }
+    }
+}
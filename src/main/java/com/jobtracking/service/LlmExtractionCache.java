@@ -0,0 +1,169 @@
+package com.jobtracking.service;
+
+import com.jobtracking.repository.LlmExtractionCacheRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed cache of LLM company/title extractions.
+ * Keys are a hash of the sender domain, the subject with IDs masked and the body prefix the
+ * LLM would see, so the same ATS template sent to many users maps to one entry. Lookups hit
+ * an in-memory LRU first, then the llm_extraction_cache table; both tiers expire entries.
+ */
+@Component
+public class LlmExtractionCache {
+
+    // Same body prefix the LLM prompt uses
+    static final int BODY_PREFIX_CHARS = 500;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // Long digit runs are requisition/ticket IDs or dates, not part of the template
+    private static final Pattern ID_DIGITS = Pattern.compile("\\d{4,}");
+    private static final Pattern REPLY_PREFIX = Pattern.compile("^((re|fwd?|fw)\\s*:\\s*)+");
+
+    private final LlmExtractionCacheRepository repository;
+    private final long memoryTtlMillis;
+    private final long ttlDays;
+    private final Map<String, MemoryEntry> memory;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong tableHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public LlmExtractionCache(LlmExtractionCacheRepository repository,
+                              @Value("${anthropic.cache.max-entries:5000}") int maxEntries,
+                              @Value("${anthropic.cache.memory-ttl-minutes:360}") long memoryTtlMinutes,
+                              @Value("${anthropic.cache.ttl-days:30}") long ttlDays) {
+        this.repository = repository;
+        this.memoryTtlMillis = TimeUnit.MINUTES.toMillis(memoryTtlMinutes);
+        this.ttlDays = ttlDays;
+        // Access-ordered LRU so memory stays bounded by recently seen templates
+        this.memory = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MemoryEntry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Normalized content hash for an email
+     */
+    public String keyFor(String sender, String subject, String body) {
+        String bodyPrefix = body == null ? "" : body.substring(0, Math.min(BODY_PREFIX_CHARS, body.length()));
+        String normalized = senderDomain(sender) + '\n'
+                + REPLY_PREFIX.matcher(normalize(subject)).replaceFirst("") + '\n'
+                + normalize(bodyPrefix);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Cached [company, jobTitle] for the key, or null on a miss
+     */
+    public String[] get(String key) {
+        MemoryEntry entry = memory.get(key);
+        if (entry != null) {
+            if (entry.expiresAt > System.currentTimeMillis()) {
+                memoryHits.incrementAndGet();
+                return entry.result;
+            }
+            memory.remove(key);
+        }
+
+        String[] stored = repository.findByCacheKeyAndCreatedAtAfter(key, LocalDateTime.now().minusDays(ttlDays))
+                .map(e -> new String[]{e.getCompany(), e.getTitle()})
+                .orElse(null);
+        if (stored != null) {
+            tableHits.incrementAndGet();
+            memory.put(key, new MemoryEntry(stored, System.currentTimeMillis() + memoryTtlMillis));
+            return stored;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Store a successful extraction in both tiers
+     */
+    public void put(String key, String[] result) {
+        memory.put(key, new MemoryEntry(result, System.currentTimeMillis() + memoryTtlMillis));
+        try {
+            repository.upsert(key, result[0], result[1], LocalDateTime.now());
+        } catch (Exception e) {
+            // The in-memory tier still serves this entry
+            System.err.println("[LLM Cache] Failed to persist entry: " + e.getMessage());
+        }
+    }
+
+    public long getMemoryHits() { return memoryHits.get(); }
+    public long getTableHits() { return tableHits.get(); }
+    public long getMisses() { return misses.get(); }
+
+    /**
+     * Drop expired rows once a day and log hit/miss counters
+     */
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purgeExpired() {
+        int deleted = repository.deleteOlderThan(LocalDateTime.now().minusDays(ttlDays));
+        long memoryHitCount = memoryHits.get();
+        long tableHitCount = tableHits.get();
+        long missCount = misses.get();
+        long total = memoryHitCount + tableHitCount + missCount;
+        System.out.println("[LLM Cache] Purged " + deleted + " expired entries. Hits: memory=" + memoryHitCount +
+                ", table=" + tableHitCount + ", misses=" + missCount +
+                (total > 0 ? String.format(" (hit rate %.1f%%)", 100.0 * (memoryHitCount + tableHitCount) / total) : ""));
+    }
+
+    private static String senderDomain(String sender) {
+        if (sender == null) {
+            return "";
+        }
+        String address = sender;
+        int open = sender.lastIndexOf('<');
+        int close = sender.lastIndexOf('>');
+        if (open >= 0 && close > open) {
+            address = sender.substring(open + 1, close);
+        }
+        int at = address.lastIndexOf('@');
+        return (at >= 0 ? address.substring(at + 1) : address).trim().toLowerCase();
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String collapsed = WHITESPACE.matcher(text.toLowerCase()).replaceAll(" ").trim();
+        return ID_DIGITS.matcher(collapsed).replaceAll("#");
+    }
+
+    private static final class MemoryEntry {
+        final String[] result;
+        final long expiresAt;
+
+        MemoryEntry(String[] result, long expiresAt) {
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
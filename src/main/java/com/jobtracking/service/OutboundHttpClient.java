@@ -0,0 +1,178 @@
+package com.jobtracking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.UnknownHttpStatusCodeException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared outbound JSON client for third-party APIs (Adzuna, Anthropic).
+ * Uses the application's pooled HTTP/2 java.net.http.HttpClient, decodes response bodies with
+ * Jackson straight from the stream, and keeps per-target latency/concurrency counters.
+ *
+ * Non-2xx responses are thrown as Spring's HttpClientErrorException/HttpServerErrorException
+ * (with response headers, e.g. Retry-After) and I/O failures as ResourceAccessException,
+ * the same exception types RestTemplate used to throw.
+ */
+@Component
+public class OutboundHttpClient {
+
+    // Error bodies are only kept for the exception message
+    private static final int MAX_ERROR_BODY_BYTES = 4096;
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Map<String, TargetStats> stats = new ConcurrentHashMap<>();
+
+    public OutboundHttpClient(HttpClient httpClient, ObjectMapper objectMapper) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * GET a JSON resource and decode it into the given type
+     *
+     * @param target Name used to group metrics, e.g. "adzuna"
+     */
+    public <T> T getJson(String target, URI uri, Duration timeout, Class<T> type) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        return send(target, request, type);
+    }
+
+    /**
+     * POST a JSON body and decode the JSON response into the given type
+     */
+    public <T> T postJson(String target, URI uri, Duration timeout, Map<String, String> headers,
+                          Object body, Class<T> type) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to serialize request body", e);
+        }
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(payload));
+        headers.forEach(builder::header);
+        return send(target, builder.build(), type);
+    }
+
+    private <T> T send(String target, HttpRequest request, Class<T> type) {
+        TargetStats targetStats = stats.computeIfAbsent(target, t -> new TargetStats());
+        long start = targetStats.begin();
+        boolean failed = true;
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                int status = response.statusCode();
+                if (status < 200 || status >= 300) {
+                    throw statusException(status, response.headers(), body.readNBytes(MAX_ERROR_BODY_BYTES));
+                }
+                T result = objectMapper.readValue(body, type);
+                failed = false;
+                return result;
+            }
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on " + request.method() + " request for \"" + target +
+                    "\": " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Interrupted during request for \"" + target + "\"");
+        } finally {
+            targetStats.end(start, failed);
+        }
+    }
+
+    private static RuntimeException statusException(int status, java.net.http.HttpHeaders responseHeaders, byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        responseHeaders.map().forEach(headers::addAll);
+        HttpStatusCode statusCode = HttpStatusCode.valueOf(status);
+        String statusText = String.valueOf(status);
+        if (statusCode.is4xxClientError()) {
+            return HttpClientErrorException.create(statusCode, statusText, headers, body, StandardCharsets.UTF_8);
+        }
+        if (statusCode.is5xxServerError()) {
+            return HttpServerErrorException.create(statusCode, statusText, headers, body, StandardCharsets.UTF_8);
+        }
+        return new UnknownHttpStatusCodeException(status, statusText, headers, body, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Log per-target request counts, latency and peak concurrency, then reset the window
+     */
+    @Scheduled(fixedRate = 15 * 60 * 1000, initialDelay = 15 * 60 * 1000)
+    public void logStats() {
+        stats.forEach((target, targetStats) -> {
+            String summary = targetStats.snapshotAndReset();
+            if (summary != null) {
+                System.out.println("[HTTP] " + target + ": " + summary);
+            }
+        });
+    }
+
+    private static final class TargetStats {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger peakInFlight = new AtomicInteger();
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        long begin() {
+            int current = inFlight.incrementAndGet();
+            peakInFlight.accumulateAndGet(current, Math::max);
+            return System.nanoTime();
+        }
+
+        void end(long start, boolean failed) {
+            long elapsed = System.nanoTime() - start;
+            inFlight.decrementAndGet();
+            requests.incrementAndGet();
+            if (failed) {
+                failures.incrementAndGet();
+            }
+            totalNanos.addAndGet(elapsed);
+            maxNanos.accumulateAndGet(elapsed, Math::max);
+        }
+
+        String snapshotAndReset() {
+            long count = requests.getAndSet(0);
+            long failed = failures.getAndSet(0);
+            long total = totalNanos.getAndSet(0);
+            long max = maxNanos.getAndSet(0);
+            int peak = peakInFlight.getAndSet(inFlight.get());
+            if (count == 0) {
+                return null;
+            }
+            return String.format("requests=%d failures=%d avg=%dms max=%dms inFlight=%d peakInFlight=%d",
+                    count, failed, TimeUnit.NANOSECONDS.toMillis(total / count), TimeUnit.NANOSECONDS.toMillis(max),
+                    inFlight.get(), peak);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.jobtracking.service;
+
+import com.jobtracking.repository.ProcessedEmailRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Dedupe check for Gmail messages, backed by the processed_email table.
+ * A per-user Bloom filter sits in front of the table so the common case (a message we have
+ * never seen) is answered in memory; only possible hits go to the unique index.
+ */
+@Component
+public class ProcessedEmailLedger {
+
+    private static final int MIN_CAPACITY = 256;
+
+    private final ProcessedEmailRepository processedEmailRepository;
+    private final Map<UUID, MessageIdBloomFilter> filters;
+
+    public ProcessedEmailLedger(ProcessedEmailRepository processedEmailRepository,
+                                @Value("${gmail.processed-ledger.max-users:1000}") int maxUsers) {
+        this.processedEmailRepository = processedEmailRepository;
+        // Access-ordered LRU so memory stays bounded by recently scanned users
+        this.filters = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, MessageIdBloomFilter> eldest) {
+                return size() > maxUsers;
+            }
+        });
+    }
+
+    /**
+     * Whether the message has already been recorded for this user
+     */
+    public boolean isProcessed(UUID userId, String messageId) {
+        if (!filterFor(userId).mightContain(messageId)) {
+            return false;
+        }
+        return processedEmailRepository.existsByUser_IdAndGmailMessageId(userId, messageId);
+    }
+
+    /**
+     * Record the message for this user. Returns false if it was already recorded,
+     * in which case the caller should not process it again.
+     */
+    public boolean claim(UUID userId, String messageId) {
+        boolean inserted = processedEmailRepository.insertIfAbsent(userId, messageId) > 0;
+        MessageIdBloomFilter filter = filterFor(userId);
+        filter.put(messageId);
+        if (filter.isOverCapacity()) {
+            // Too many entries for the target false-positive rate - rebuild at a larger size on next use
+            filters.remove(userId);
+        }
+        return inserted;
+    }
+
+    /**
+     * Undo a claim when processing failed, so the message is retried on the next scan.
+     * The Bloom filter keeps the ID, which only costs one extra DB lookup.
+     */
+    public void release(UUID userId, String messageId) {
+        processedEmailRepository.deleteByUserIdAndMessageId(userId, messageId);
+    }
+
+    private MessageIdBloomFilter filterFor(UUID userId) {
+        MessageIdBloomFilter filter = filters.get(userId);
+        if (filter == null) {
+            List<String> ids = processedEmailRepository.findMessageIdsByUserId(userId);
+            filter = new MessageIdBloomFilter(Math.max(MIN_CAPACITY, ids.size() * 2));
+            for (String id : ids) {
+                filter.put(id);
+            }
+            filters.put(userId, filter);
+        }
+        return filter;
+    }
+
+    /**
+     * Fixed-size Bloom filter over message IDs, sized for ~1% false positives at capacity
+     */
+    static final class MessageIdBloomFilter {
+        private static final int HASHES = 7;
+
+        private final BitSet bits;
+        private final int numBits;
+        private final int capacity;
+        private int count;
+
+        MessageIdBloomFilter(int capacity) {
+            this.capacity = capacity;
+            // m = -n ln(p) / ln(2)^2 with p = 0.01
+            this.numBits = (int) Math.ceil(capacity * 9.585);
+            this.bits = new BitSet(numBits);
+        }
+
+        synchronized void put(String value) {
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < HASHES; i++) {
+                bits.set(Math.floorMod(h1 + i * h2, numBits));
+            }
+            count++;
+        }
+
+        synchronized boolean mightContain(String value) {
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < HASHES; i++) {
+                if (!bits.get(Math.floorMod(h1 + i * h2, numBits))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        synchronized boolean isOverCapacity() {
+            return count > capacity;
+        }
+
+        // FNV-1a 64-bit followed by a murmur-style finalizer for better bit spread
+        private static long hash64(String value) {
+            long h = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                h ^= b;
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
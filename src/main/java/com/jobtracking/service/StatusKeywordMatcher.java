@@ -0,0 +1,229 @@
+package com.jobtracking.service;
+
+import java.util.*;
+
+/**
+ * Single-pass Aho-Corasick matcher for application status keywords.
+ * Built once into a dense DFA over a small alphabet (a-z, space, comma); any other character
+ * resets to the root state. Text is case-folded per character while walking, so callers never
+ * build a lowercased copy of the email.
+ */
+public final class StatusKeywordMatcher {
+
+    // Priority order used by determineStatus: lower index wins
+    public static final String[] STATUSES = {"OFFER", "REJECTED", "INTERVIEW", "APPLIED"};
+
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz ,";
+
+    private static final int[] CHAR_CLASS = new int[128];
+
+    static {
+        Arrays.fill(CHAR_CLASS, -1);
+        for (int i = 0; i < ALPHABET.length(); i++) {
+            char c = ALPHABET.charAt(i);
+            CHAR_CLASS[c] = i;
+            if (c >= 'a' && c <= 'z') {
+                CHAR_CLASS[Character.toUpperCase(c)] = i;
+            }
+        }
+    }
+
+    /**
+     * A keyword hit. Positions are offsets into subject + " " + body.
+     */
+    public static final class Hit {
+        private final String status;
+        private final String keyword;
+        private final int start;
+
+        Hit(String status, String keyword, int start) {
+            this.status = status;
+            this.keyword = keyword;
+            this.start = start;
+        }
+
+        public String getStatus() { return status; }
+        public String getKeyword() { return keyword; }
+        public int getStart() { return start; }
+        public int getEnd() { return start + keyword.length(); }
+    }
+
+    private final int[][] transitions;
+    // Bitmask of statuses whose keywords end in each state (including via failure links)
+    private final int[] outputMask;
+    // Keyword indices ending in each state (including via failure links), for hit reporting
+    private final int[][] outputKeywords;
+    private final String[] keywords;
+    private final int[] keywordStatus;
+
+    private StatusKeywordMatcher(Map<String, List<String>> keywordsByStatus) {
+        List<String> allKeywords = new ArrayList<>();
+        List<Integer> statusOfKeyword = new ArrayList<>();
+        for (int s = 0; s < STATUSES.length; s++) {
+            for (String keyword : keywordsByStatus.getOrDefault(STATUSES[s], Collections.emptyList())) {
+                allKeywords.add(keyword);
+                statusOfKeyword.add(s);
+            }
+        }
+        this.keywords = allKeywords.toArray(new String[0]);
+        this.keywordStatus = statusOfKeyword.stream().mapToInt(Integer::intValue).toArray();
+
+        // 1) Trie
+        List<int[]> gotoTable = new ArrayList<>();
+        List<List<Integer>> outputs = new ArrayList<>();
+        gotoTable.add(newRow());
+        outputs.add(new ArrayList<>());
+        for (int k = 0; k < keywords.length; k++) {
+            int state = 0;
+            for (int i = 0; i < keywords[k].length(); i++) {
+                int cls = classOf(keywords[k].charAt(i));
+                if (cls < 0) {
+                    throw new IllegalArgumentException("Unsupported character in keyword: " + keywords[k]);
+                }
+                if (gotoTable.get(state)[cls] < 0) {
+                    gotoTable.get(state)[cls] = gotoTable.size();
+                    gotoTable.add(newRow());
+                    outputs.add(new ArrayList<>());
+                }
+                state = gotoTable.get(state)[cls];
+            }
+            outputs.get(state).add(k);
+        }
+
+        // 2) Failure links (BFS), folded into a full DFA transition table
+        int states = gotoTable.size();
+        int[] fail = new int[states];
+        this.transitions = new int[states][];
+        this.outputMask = new int[states];
+        this.outputKeywords = new int[states][];
+        for (int i = 0; i < states; i++) {
+            transitions[i] = gotoTable.get(i).clone();
+        }
+
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET.length(); c++) {
+            int next = transitions[0][c];
+            if (next < 0) {
+                transitions[0][c] = 0;
+            } else {
+                fail[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs.get(state).addAll(outputs.get(fail[state]));
+            for (int c = 0; c < ALPHABET.length(); c++) {
+                int next = transitions[state][c];
+                if (next < 0) {
+                    transitions[state][c] = transitions[fail[state]][c];
+                } else {
+                    fail[next] = transitions[fail[state]][c];
+                    queue.add(next);
+                }
+            }
+        }
+
+        for (int i = 0; i < states; i++) {
+            List<Integer> out = outputs.get(i);
+            outputKeywords[i] = out.stream().mapToInt(Integer::intValue).toArray();
+            for (int k : outputKeywords[i]) {
+                outputMask[i] |= 1 << keywordStatus[k];
+            }
+        }
+    }
+
+    /**
+     * The matcher used by EmailParserService. Keywords are the literal expansions of the
+     * former OFFER/REJECT/INTERVIEW/APPLIED regexes (substring semantics, case-insensitive).
+     */
+    public static StatusKeywordMatcher defaultMatcher() {
+        return DEFAULT;
+    }
+
+    private static final StatusKeywordMatcher DEFAULT = new StatusKeywordMatcher(Map.of(
+            "OFFER", List.of(
+                    "offer letter", "congratulations", "pleased to offer", "welcome to the team"),
+            "REJECTED", List.of(
+                    "we decided", "we have decided", "unfortunately,", "unfortunately ",
+                    "not moving forward", "pursue other candidates"),
+            "INTERVIEW", List.of(
+                    "interview", "schedule a time", "availability", "coding challenge",
+                    "technical screen", "phone screen"),
+            "APPLIED", List.of(
+                    "application received", "application submitted", "application confirmation",
+                    "application successfully", "application complete", "thank you for applying",
+                    "we received your application", "we have received your application",
+                    "your application has been", "applied for", "applied to",
+                    "confirmation of your application", "received your application",
+                    "has received your application")
+    ));
+
+    /**
+     * Highest-priority status whose keywords appear in subject + " " + body, or null.
+     * Stops as soon as the top-priority status is seen.
+     */
+    public String determineStatus(String subject, String body) {
+        int mask = 0;
+        int state = 0;
+        int top = 1; // OFFER
+        for (int part = 0; part < 3; part++) {
+            CharSequence text = part == 0 ? subject : part == 1 ? " " : body;
+            if (text == null) {
+                continue;
+            }
+            for (int i = 0, n = text.length(); i < n; i++) {
+                int cls = classOf(text.charAt(i));
+                state = cls < 0 ? 0 : transitions[state][cls];
+                mask |= outputMask[state];
+                if ((mask & top) != 0) {
+                    return STATUSES[0];
+                }
+            }
+        }
+        return mask == 0 ? null : STATUSES[Integer.numberOfTrailingZeros(mask)];
+    }
+
+    /**
+     * Every keyword hit in subject + " " + body, in text order
+     */
+    public List<Hit> findAll(String subject, String body) {
+        List<Hit> hits = new ArrayList<>();
+        int state = 0;
+        int offset = 0;
+        for (int part = 0; part < 3; part++) {
+            CharSequence text = part == 0 ? subject : part == 1 ? " " : body;
+            if (text == null) {
+                continue;
+            }
+            for (int i = 0, n = text.length(); i < n; i++) {
+                int cls = classOf(text.charAt(i));
+                state = cls < 0 ? 0 : transitions[state][cls];
+                for (int k : outputKeywords[state]) {
+                    int end = offset + i + 1;
+                    hits.add(new Hit(STATUSES[keywordStatus[k]], keywords[k], end - keywords[k].length()));
+                }
+            }
+            offset += text.length();
+        }
+        return hits;
+    }
+
+    private static int classOf(char c) {
+        if (c < 128) {
+            return CHAR_CLASS[c];
+        }
+        // String.toLowerCase turns DOTTED CAPITAL I into "i" + a combining dot, which matches nothing
+        if (c == 'İ') {
+            return -1;
+        }
+        char lower = Character.toLowerCase(c);
+        return lower < 128 ? CHAR_CLASS[lower] : -1;
+    }
+
+    private static int[] newRow() {
+        int[] row = new int[ALPHABET.length()];
+        Arrays.fill(row, -1);
+        return row;
+    }
+}
@@ -0,0 +1,41 @@
+-- Indexes Hibernate cannot express with ddl-auto=update. Runs on every startup, so keep statements idempotent.
+
+-- Background Gmail scanner: only Gmail-enabled users are ever looked up, by recent activity
+CREATE INDEX IF NOT EXISTS idx_users_gmail_active
+    ON users (updated_at)
+    WHERE google_gmail_enabled = true;
+
+-- One-time data migrations record their name here; guarded statements skip once it is present
+CREATE TABLE IF NOT EXISTS schema_migration (
+    name       VARCHAR(100) PRIMARY KEY,
+    applied_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+-- Seed the processed-message ledger from the [GmailMessageId:...] markers the scanner used to rely on.
+-- Runs once: the uncorrelated NOT EXISTS is evaluated before the scan, so later startups skip the regex pass.
+INSERT INTO processed_email (id, user_id, gmail_message_id, processed_at)
+SELECT gen_random_uuid(), a.user_id, m[1], now()
+FROM applications a
+CROSS JOIN LATERAL regexp_matches(a.notes, '\[GmailMessageId:([^\]]+)\]', 'g') AS m
+WHERE a.notes LIKE '%[GmailMessageId:%'
+  AND NOT EXISTS (SELECT 1 FROM schema_migration WHERE name = 'processed_email_backfill')
+ON CONFLICT (user_id, gmail_message_id) DO NOTHING;
+
+INSERT INTO schema_migration (name) VALUES ('processed_email_backfill') ON CONFLICT (name) DO NOTHING;
+
+-- Label applications created before the source column existed (dashboard bySource)
+UPDATE applications
+SET source = CASE
+    WHEN job_id IS NOT NULL OR notes LIKE '[Applied from job recommendation]%' THEN 'RECOMMENDATION'
+    WHEN notes LIKE '[Auto-created from email%' THEN 'EMAIL'
+    ELSE 'MANUAL'
+END
+WHERE source IS NULL;
+
+-- Normalized names used to drop every non-ASCII letter; clear them once so ApplicationMatcher
+-- recomputes them with the Unicode-aware rules on startup
+UPDATE applications
+SET company_normalized = NULL, title_normalized = NULL
+WHERE NOT EXISTS (SELECT 1 FROM schema_migration WHERE name = 'applications_normalized_unicode');
+
+INSERT INTO schema_migration (name) VALUES ('applications_normalized_unicode') ON CONFLICT (name) DO NOTHING;
@@ -104,7 +104,8 @@ function isTokenExpired() {
     return Date.now() > parseInt(expiresAt);
 }
 
-async function fetchJson(path, options = {}) {
+// Authenticated fetch; returns the Response, or undefined after redirecting to login
+async function apiFetch(path, options = {}) {
     // Check if user is authenticated before making requests
     const jwtToken = localStorage.getItem('jwtToken');
 
@@ -144,6 +145,13 @@ async function fetchJson(path, options = {}) {
         return;
     }
 
+    return res;
+}
+
+async function fetchJson(path, options = {}) {
+    const res = await apiFetch(path, options);
+    if (!res) return;
+
     if (!res.ok) {
         throw new Error(`Request failed: ${res.status}`);
     }
@@ -1323,17 +1331,37 @@ function closeEventModal() {
 
 // --- Recommendations page ----------------------------------------------------
 
+const JOBS_PAGE_SIZE = 100;
+const JOBS_SEARCH_DELAY_MS = 300;
+
+// One page of /api/jobs plus the cursor for the next page (null on the last page)
+async function fetchJobPage(cursor, search) {
+    const query = `?limit=${JOBS_PAGE_SIZE}` +
+        (search ? `&q=${encodeURIComponent(search)}` : "") +
+        (cursor ? `&cursor=${encodeURIComponent(cursor)}` : "");
+    const res = await apiFetch(`/api/jobs${query}`);
+    if (!res) return null;
+    if (!res.ok) {
+        throw new Error(`Request failed: ${res.status}`);
+    }
+    return { jobs: await res.json(), nextCursor: res.headers.get("X-Next-Cursor") };
+}
+
 async function initRecommendationsPage() {
     const tableBody = document.querySelector("#recommendations-tbody");
     if (!tableBody) return;
 
     const searchInput = document.querySelector("#search-input");
     const countLabel = document.querySelector("#recommendations-count");
+    const loadMoreBtn = document.querySelector("#recommendations-load-more");
 
-    let allJobs = [];
+    // Search runs on the server; only the pages loaded so far are kept in the table
+    let search = "";
+    let nextCursor = null;
+    let shown = 0;
+    let requestId = 0;
 
-    function render(jobs) {
-        tableBody.innerHTML = "";
+    function appendRows(jobs) {
         jobs.forEach((job) => {
             const tr = document.createElement("tr");
             tr.innerHTML = `
@@ -1349,43 +1377,71 @@ async function initRecommendationsPage() {
       `;
             tableBody.appendChild(tr);
         });
+        shown += jobs.length;
 
         if (countLabel) {
-            countLabel.textContent = `Showing ${jobs.length} jobs`;
+            countLabel.textContent = `Showing ${shown} jobs` + (nextCursor ? " (more available)" : "");
+        }
+        if (loadMoreBtn) {
+            loadMoreBtn.style.display = nextCursor ? "" : "none";
         }
     }
 
-    try {
-        console.log("[Recommendations] Loading jobs from /api/jobs...");
-        allJobs = await fetchJson("/api/jobs");
-        console.log("[Recommendations] ✓ Loaded " + (allJobs ? allJobs.length : 0) + " jobs");
-
-        if (!allJobs || allJobs.length === 0) {
-            console.warn("[Recommendations] ⚠ No jobs returned from API");
-            tableBody.innerHTML = "<tr><td colspan='5' style='text-align:center;padding:20px;'>No jobs available. Please try fetching jobs again.</td></tr>";
-            if (countLabel) countLabel.textContent = "0 jobs";
-            return;
+    // Load the next page for the current search; a first page replaces the table
+    async function loadPage(cursor) {
+        const id = ++requestId;
+        if (loadMoreBtn) loadMoreBtn.disabled = true;
+        try {
+            const page = await fetchJobPage(cursor, search);
+            // A newer search started while this page was loading
+            if (!page || id !== requestId) return;
+            nextCursor = page.nextCursor;
+            if (!cursor) {
+                tableBody.innerHTML = "";
+                shown = 0;
+                if (page.jobs.length === 0) {
+                    const message = search
+                        ? "No jobs match your search."
+                        : "No jobs available. Please try fetching jobs again.";
+                    tableBody.innerHTML = "<tr><td colspan='5' style='text-align:center;padding:20px;'>" + message + "</td></tr>";
+                    if (countLabel) countLabel.textContent = "0 jobs";
+                    if (loadMoreBtn) loadMoreBtn.style.display = "none";
+                    return;
+                }
+            }
+            appendRows(page.jobs);
+            console.log("[Recommendations] ✓ Loaded " + page.jobs.length + " jobs" + (nextCursor ? ", more available" : ""));
+        } catch (err) {
+            if (id !== requestId) return;
+            console.error("[Recommendations] ✗ Failed to load recommendations:", err);
+            console.error("[Recommendations] Error stack:", err.stack);
+            tableBody.innerHTML = "<tr><td colspan='5' style='text-align:center;padding:20px;color:red;'>Error loading jobs: " + err.message + "</td></tr>";
+        } finally {
+            if (loadMoreBtn && id === requestId) loadMoreBtn.disabled = false;
         }
+    }
 
-        render(allJobs);
-        console.log("[Recommendations] ✓ Rendered jobs in table");
+    if (loadMoreBtn) {
+        loadMoreBtn.addEventListener("click", () => {
+            if (nextCursor) loadPage(nextCursor);
+        });
+    }
 
-        if (searchInput) {
-            searchInput.addEventListener("input", (e) => {
-                const term = e.target.value.toLowerCase();
-                const filtered = allJobs.filter(
-                    (j) =>
-                        j.company.toLowerCase().includes(term) ||
-                        j.title.toLowerCase().includes(term)
-                );
-                render(filtered);
-            });
-        }
-    } catch (err) {
-        console.error("[Recommendations] ✗ Failed to load recommendations:", err);
-        console.error("[Recommendations] Error stack:", err.stack);
-        tableBody.innerHTML = "<tr><td colspan='5' style='text-align:center;padding:20px;color:red;'>Error loading jobs: " + err.message + "</td></tr>";
+    if (searchInput) {
+        let searchTimer = null;
+        searchInput.addEventListener("input", () => {
+            clearTimeout(searchTimer);
+            searchTimer = setTimeout(() => {
+                const term = searchInput.value.trim();
+                if (term === search) return;
+                search = term;
+                loadPage(null);
+            }, JOBS_SEARCH_DELAY_MS);
+        });
     }
+
+    console.log("[Recommendations] Loading jobs from /api/jobs...");
+    await loadPage(null);
 }
 
 // --- New application page ----------------------------------------------------
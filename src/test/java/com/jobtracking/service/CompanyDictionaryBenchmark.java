@@ -0,0 +1,72 @@
+package com.jobtracking.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Known-company lookup: CompanyDictionary against the legacy regexes, on a subject line and on
+ * bodies from the sample-emails.txt corpus, which names no known company (the fallback scans all of it).
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.jobtracking.service.CompanyDictionaryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompanyDictionaryBenchmark {
+
+    @Param({"2000", "20000"})
+    public int contentChars;
+
+    private final CompanyDictionary dictionary = CompanyDictionary.load("/companies.txt");
+    private String subject;
+    private String content;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        subject = "Your application to the Software Engineer role at Stripe";
+        content = SampleEmails.bodies(contentChars);
+    }
+
+    @Benchmark
+    public String dictionarySubject() {
+        return dictionary.findFirst(subject, true);
+    }
+
+    @Benchmark
+    public String legacySubject() {
+        return LegacyCompanyPatterns.findFirst(LegacyCompanyPatterns.SUBJECT, subject);
+    }
+
+    @Benchmark
+    public String dictionaryContent() {
+        return dictionary.findFirst(content, false);
+    }
+
+    @Benchmark
+    public String legacyContent() {
+        return LegacyCompanyPatterns.findFirst(LegacyCompanyPatterns.CONTENT, content);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(CompanyDictionaryBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,108 @@
+package com.jobtracking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompanyDictionaryTest {
+
+    private static final CompanyDictionary TEST_DICTIONARY = CompanyDictionary.load("/companies-test.txt");
+    private static final CompanyDictionary COMPANIES = CompanyDictionary.load("/companies.txt");
+
+    // Company names, near misses and separators used to build randomized emails
+    private static final String[] FRAGMENTS = {
+            "google", "Google", "amazon", "meta", "metadata", "red hat", "red  hat", "mongo db", "snap", "snapchat",
+            "ey", "hey", "bain", "bank of america", "goldman sachs", "jpmorgan", "wells fargo", "tcs", "ibm",
+            "offer", "from", "the", "team", "a", "_", "2", " ", " ", " ", ",", ".", "-", "\n",
+            "\u00e9", "\u00fc", "\u0301", "\u00a0", "\u0130", "\u212a", "\u0661", "\ud835\udc00"
+    };
+
+    @Test
+    void readsSectionsCommentsAndWhitespace() {
+        assertEquals(5, TEST_DICTIONARY.size());
+        assertEquals("Globex Corp", TEST_DICTIONARY.findFirst("Hello from Globex Corp", false));
+        assertEquals("umbrella", TEST_DICTIONARY.findFirst("umbrella", false));
+    }
+
+    @Test
+    void subjectOnlyNamesNeedTheSubjectFlag() {
+        assertNull(TEST_DICTIONARY.findFirst("Your Initech application", false));
+        assertEquals("Initech", TEST_DICTIONARY.findFirst("Your Initech application", true));
+    }
+
+    @Test
+    void nameListedInBothSectionsIsSearchedInBodies() {
+        assertEquals("Acme Labs", TEST_DICTIONARY.findFirst("Welcome to Acme Labs", false));
+    }
+
+    @Test
+    void missingResourceFailsFast() {
+        assertThrows(IllegalStateException.class, () -> CompanyDictionary.load("/no-such-companies.txt"));
+    }
+
+    @Test
+    void longestNameWinsAtOnePosition() {
+        assertEquals("ACME LABS", TEST_DICTIONARY.findFirst("ACME LABS interview", true));
+        assertEquals("Acme", TEST_DICTIONARY.findFirst("Acme Lab interview", true));
+        // The longer name does not end on a word boundary
+        assertEquals("acme", TEST_DICTIONARY.findFirst("acme labsx", true));
+    }
+
+    @Test
+    void leftmostNameWins() {
+        assertEquals("umbrella", TEST_DICTIONARY.findFirst("umbrella and acme labs", true));
+    }
+
+    @Test
+    void namesStartAndEndOnWordBoundaries() {
+        assertNull(TEST_DICTIONARY.findFirst("acmecorp", true));
+        assertNull(TEST_DICTIONARY.findFirst("xacme", true));
+        assertNull(TEST_DICTIONARY.findFirst("acme_", true));
+        assertNull(TEST_DICTIONARY.findFirst("acme2", true));
+        assertEquals("acme", TEST_DICTIONARY.findFirst("(acme-corp)", true));
+        assertEquals("acme", TEST_DICTIONARY.findFirst("acme.", true));
+        assertNull(TEST_DICTIONARY.findFirst(null, true));
+    }
+
+    @Test
+    void unicodeLettersAndMarksAreWordCharacters() {
+        assertNull(TEST_DICTIONARY.findFirst("acme\u00e9", true));
+        assertNull(TEST_DICTIONARY.findFirst("\u00fcacme", true));
+        assertNull(TEST_DICTIONARY.findFirst("acme\u0301", true));
+        assertNull(TEST_DICTIONARY.findFirst("acme\u0661", true));
+        assertNull(TEST_DICTIONARY.findFirst("\ud835\udc00acme", true));
+        assertEquals("acme", TEST_DICTIONARY.findFirst("acme\u00a0labs", true));
+    }
+
+    @Test
+    void onlyAsciiLettersFoldCase() {
+        assertNull(TEST_DICTIONARY.findFirst("\u0130nitech", true));
+        assertEquals("INITECH", TEST_DICTIONARY.findFirst("INITECH", true));
+    }
+
+    @Test
+    void sampleEmailsNameNoKnownCompany() {
+        // The benchmark relies on this to make the body fallback scan all of it
+        for (SampleEmails.Email email : SampleEmails.all()) {
+            assertNull(COMPANIES.findFirst(email.getSubject() + " " + email.getBody(), true), email.getSubject());
+            assertNull(LegacyCompanyPatterns.findFirst(LegacyCompanyPatterns.SUBJECT,
+                    email.getSubject() + " " + email.getBody()), email.getSubject());
+        }
+    }
+
+    @Test
+    void agreesWithLegacyRegexes() {
+        Random random = new Random(15);
+        for (int i = 0; i < 20_000; i++) {
+            String text = RandomText.build(random, FRAGMENTS, 12);
+            assertEquals(LegacyCompanyPatterns.findFirst(LegacyCompanyPatterns.SUBJECT, text),
+                    COMPANIES.findFirst(text, true), "subject [" + text + "]");
+            assertEquals(LegacyCompanyPatterns.findFirst(LegacyCompanyPatterns.CONTENT, text),
+                    COMPANIES.findFirst(text, false), "content [" + text + "]");
+        }
+    }
+}
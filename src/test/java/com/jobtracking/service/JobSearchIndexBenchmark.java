@@ -0,0 +1,114 @@
+package com.jobtracking.service;
+
+import com.jobtracking.dto.JobDto;
+import com.jobtracking.model.Job;
+import com.jobtracking.repository.JobRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Recommendation search over synthetic postings at 10k, 100k and 1M jobs: JobSearchIndex against
+ * the legacy full scan (lowercase every job, String.contains per skill) over the same jobs.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.jobtracking.service.JobSearchIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class JobSearchIndexBenchmark {
+
+    private static final String[] SKILLS = {
+            "java", "python", "go", "rust", "kotlin", "scala", "c++", "c#", "typescript", "react",
+            "spring", "django", "kafka", "postgres", "redis", "aws", "gcp", "kubernetes", "docker",
+            "terraform", "machine learning", "data pipelines", "distributed systems", "graphql"
+    };
+    private static final String[] TITLES = {
+            "Software Engineer", "Backend Engineer", "Data Engineer", "Platform Engineer",
+            "ML Engineer", "Frontend Developer", "Site Reliability Engineer"
+    };
+
+    @Param({"10000", "100000", "1000000"})
+    public int jobs;
+
+    private JobSearchIndex index;
+    private List<Job> allJobs;
+    private List<String> skills;
+    private BitSet excluded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JobRepository jobRepository = mock(JobRepository.class);
+        when(jobRepository.findByExpiredAtIsNull()).thenReturn(List.of());
+        index = new JobSearchIndex(jobRepository);
+
+        Random random = new Random(42);
+        List<Job> batch = new ArrayList<>(jobs);
+        List<UUID> applied = new ArrayList<>();
+        for (int i = 0; i < jobs; i++) {
+            Job job = new Job();
+            job.setId(UUID.randomUUID());
+            job.setTitle(TITLES[random.nextInt(TITLES.length)] + " " + i);
+            job.setCompany("Company " + random.nextInt(5000));
+            StringBuilder description = new StringBuilder("We are hiring.");
+            for (int s = 0; s < 6; s++) {
+                description.append(' ').append(SKILLS[random.nextInt(SKILLS.length)]);
+            }
+            job.setDescription(description.toString());
+            batch.add(job);
+            if (i % 50 == 0) {
+                applied.add(job.getId());
+            }
+        }
+        index.indexAll(batch);
+        allJobs = batch;
+
+        skills = List.of("java", "spring", "kafka", "postgres", "distributed systems");
+        excluded = index.toOrdinals(applied);
+    }
+
+    @Benchmark
+    public List<JobSearchIndex.ScoredJob> topFifty() {
+        return index.search(skills, 50);
+    }
+
+    @Benchmark
+    public List<JobSearchIndex.ScoredJob> topFiftyExcludingApplied() {
+        return index.search(skills, 50, excluded);
+    }
+
+    @Benchmark
+    public List<JobDto> legacyFullScan() {
+        return LegacyJobScoring.topJobs(allJobs, skills, 50);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(JobSearchIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
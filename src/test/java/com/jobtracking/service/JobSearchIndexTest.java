@@ -0,0 +1,198 @@
+package com.jobtracking.service;
+
+import com.jobtracking.model.Job;
+import com.jobtracking.repository.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JobSearchIndexTest {
+
+    private JobSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        JobRepository jobRepository = mock(JobRepository.class);
+        when(jobRepository.findByExpiredAtIsNull()).thenReturn(List.of());
+        index = new JobSearchIndex(jobRepository);
+    }
+
+    @Test
+    void ranksByScoreThenTitle() {
+        Job both = job("Backend Engineer", "Python and Java services");
+        Job pythonB = job("Data Engineer", "Python pipelines");
+        Job pythonA = job("Analyst", "Python notebooks");
+        Job none = job("Designer", "Figma");
+        index.indexAll(List.of(both, pythonB, pythonA, none));
+
+        List<JobSearchIndex.ScoredJob> results = index.search(List.of("python", "java"), 0);
+
+        assertEquals(List.of(both.getId(), pythonA.getId(), pythonB.getId()), ids(results));
+        assertEquals(List.of(2, 1, 1), results.stream().map(JobSearchIndex.ScoredJob::getScore).toList());
+    }
+
+    @Test
+    void limitKeepsTheBestMatches() {
+        Job strong = job("Zeta", "kotlin spring kafka");
+        Job medium = job("Alpha", "kotlin spring");
+        Job weak = job("Beta", "kotlin");
+        index.indexAll(List.of(weak, medium, strong));
+
+        List<JobSearchIndex.ScoredJob> results = index.search(List.of("kotlin", "spring", "kafka"), 2);
+
+        assertEquals(List.of(strong.getId(), medium.getId()), ids(results));
+    }
+
+    @Test
+    void multiWordSkillNeedsEveryToken() {
+        Job ml = job("ML Engineer", "Machine learning models");
+        Job machinist = job("Machinist", "Machine shop");
+        Job learning = job("Tutor", "Learning support");
+        index.indexAll(List.of(ml, machinist, learning));
+
+        assertEquals(List.of(ml.getId()), ids(index.search(List.of("machine learning"), 0)));
+    }
+
+    @Test
+    void keepsPlusAndHashInTokens() {
+        Job cpp = job("C++ Developer", null);
+        Job csharp = job("C# Developer", null);
+        index.indexAll(List.of(cpp, csharp));
+
+        assertEquals(List.of(cpp.getId()), ids(index.search(List.of("c++"), 0)));
+        assertEquals(List.of(csharp.getId()), ids(index.search(List.of("C#"), 0)));
+    }
+
+    @Test
+    void excludedJobsDoNotTakeLimitSlots() {
+        Job a = job("A", "go");
+        Job b = job("B", "go");
+        Job c = job("C", "go");
+        index.indexAll(List.of(a, b, c));
+
+        BitSet excluded = index.toOrdinals(List.of(a.getId(), UUID.randomUUID()));
+        List<JobSearchIndex.ScoredJob> results = index.search(List.of("go"), 2, excluded);
+
+        assertEquals(List.of(b.getId(), c.getId()), ids(results));
+    }
+
+    @Test
+    void removeAllDropsJobsWithoutChangingGeneration() {
+        Job kept = job("Kept", "rust");
+        Job removed = job("Removed", "rust");
+        index.indexAll(List.of(kept, removed));
+        long generation = index.generation();
+
+        index.removeAll(List.of(removed.getId()));
+
+        assertEquals(List.of(kept.getId()), ids(index.search(List.of("rust"), 0)));
+        assertEquals(-1, index.ordinalOf(removed.getId()));
+        assertEquals(generation, index.generation());
+    }
+
+    @Test
+    void reindexRetiresOldTokensAndBumpsGeneration() {
+        Job job = job("Engineer", "scala");
+        index.index(job);
+        int oldOrdinal = index.ordinalOf(job.getId());
+        BitSet cached = index.toOrdinals(List.of(job.getId()));
+        long generation = index.generation();
+
+        job.setDescription("elixir");
+        index.index(job);
+
+        assertTrue(index.search(List.of("scala"), 0).isEmpty());
+        assertEquals(List.of(job.getId()), ids(index.search(List.of("elixir"), 0)));
+        assertTrue(index.ordinalOf(job.getId()) != oldOrdinal);
+        assertEquals(generation + 1, index.generation());
+        // A stale ordinal set no longer excludes the job
+        assertEquals(List.of(job.getId()), ids(index.search(List.of("elixir"), 0, cached)));
+    }
+
+    @Test
+    void compactsOnceRetiredOrdinalsOutnumberLiveJobs() {
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            jobs.add(job("Job " + i, i % 2 == 0 ? "java" : "python"));
+        }
+        index.indexAll(jobs);
+        long generation = index.generation();
+
+        // Re-index half and expire the other half: 5k retired ordinals against 2.5k live jobs
+        List<UUID> expired = new ArrayList<>();
+        List<Job> changed = new ArrayList<>();
+        for (int i = 0; i < jobs.size(); i++) {
+            if (i % 2 == 0) {
+                jobs.get(i).setDescription("kotlin");
+                changed.add(jobs.get(i));
+            } else {
+                expired.add(jobs.get(i).getId());
+            }
+        }
+        index.indexAll(changed);
+        index.removeAll(expired);
+
+        assertTrue(index.generation() > generation);
+        for (Job job : changed) {
+            assertTrue(index.ordinalOf(job.getId()) < changed.size());
+        }
+        assertEquals(-1, index.ordinalOf(expired.get(0)));
+        assertEquals(changed.size(), index.search(List.of("kotlin"), 0).size());
+        assertTrue(index.search(List.of("java"), 0).isEmpty());
+        assertTrue(index.search(List.of("python"), 0).isEmpty());
+        // Ordering and exclusion still work on the renumbered ordinals
+        List<JobSearchIndex.ScoredJob> top = index.search(List.of("kotlin"), 2,
+                index.toOrdinals(List.of(changed.get(0).getId())));
+        assertEquals(2, top.size());
+        assertTrue(!top.get(0).getJobId().equals(changed.get(0).getId()));
+    }
+
+    @Test
+    void jobsIndexedAfterCompactionAreSearchable() {
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            jobs.add(job("Job " + i, "scala"));
+        }
+        index.indexAll(jobs);
+        index.removeAll(ids(index.search(List.of("scala"), 0)));
+
+        Job fresh = job("Fresh", "scala");
+        index.index(fresh);
+
+        assertEquals(List.of(fresh.getId()), ids(index.search(List.of("scala"), 0)));
+        assertEquals(0, index.ordinalOf(fresh.getId()));
+    }
+
+    @Test
+    void scoresAreResetBetweenSearches() {
+        Job job = job("Engineer", "python");
+        index.index(job);
+
+        index.search(List.of("python"), 0);
+        List<JobSearchIndex.ScoredJob> second = index.search(List.of("python"), 0);
+
+        assertEquals(1, second.get(0).getScore());
+    }
+
+    private static Job job(String title, String description) {
+        Job job = new Job();
+        job.setId(UUID.randomUUID());
+        job.setTitle(title);
+        job.setCompany("Acme");
+        job.setDescription(description);
+        return job;
+    }
+
+    private static List<UUID> ids(List<JobSearchIndex.ScoredJob> results) {
+        return results.stream().map(JobSearchIndex.ScoredJob::getJobId).toList();
+    }
+}
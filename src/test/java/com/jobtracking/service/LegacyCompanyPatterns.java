@@ -0,0 +1,40 @@
+package com.jobtracking.service;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The known-company regexes EmailParserService used before CompanyDictionary, kept as the
+ * reference the dictionary is checked and benchmarked against.
+ */
+final class LegacyCompanyPatterns {
+
+    // Strategy 1: every known company, subject line only
+    static final Pattern SUBJECT = Pattern.compile(
+            "(?i)\\b(google|amazon|microsoft|meta|facebook|apple|netflix|tesla|" +
+                    "uber|lyft|airbnb|stripe|spotify|twitter|linkedin|salesforce|oracle|" +
+                    "adobe|nvidia|intel|ibm|cisco|paypal|ebay|snap|pinterest|" +
+                    "nutanix|qualcomm|vmware|red hat|mongo db|databricks|snowflake|palantir|" +
+                    "goldman sachs|jpmorgan|morgan stanley|bank of america|wells fargo|" +
+                    "mckinsey|bain|boston consulting|deloitte|pwc|ey|kpmg|" +
+                    "accenture|capgemini|infosys|tcs|wipro)\\b",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    // Strategy 4: fallback over subject + body
+    static final Pattern CONTENT = Pattern.compile(
+            "(?i)\\b(google|amazon|microsoft|meta|facebook|apple|netflix|tesla|" +
+                    "uber|lyft|airbnb|stripe|spotify|twitter|linkedin|salesforce|oracle|" +
+                    "adobe|nvidia|intel|ibm|cisco|paypal|ebay|snap|pinterest|" +
+                    "nutanix|qualcomm|vmware|red hat|mongo db|databricks|snowflake|palantir)\\b",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    private LegacyCompanyPatterns() {
+    }
+
+    static String findFirst(Pattern pattern, String text) {
+        Matcher matcher = pattern.matcher(text);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+}
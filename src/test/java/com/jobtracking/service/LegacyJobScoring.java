@@ -0,0 +1,73 @@
+package com.jobtracking.service;
+
+import com.jobtracking.dto.JobDto;
+import com.jobtracking.model.Job;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The full-scan scoring JobRecommendationService used before JobSearchIndex: every job's
+ * title + company + description is lowercased and checked with String.contains per skill.
+ * Kept as the baseline the index is benchmarked against.
+ */
+final class LegacyJobScoring {
+
+    private LegacyJobScoring() {
+    }
+
+    static List<JobDto> topJobs(List<Job> allJobs, List<String> normalizedSkills, int limit) {
+        List<JobDto> scored = new ArrayList<>();
+        for (Job job : allJobs) {
+            String text = buildSearchText(job).toLowerCase();
+
+            int score = 0;
+            for (String skill : normalizedSkills) {
+                if (skill.isEmpty()) {
+                    continue;
+                }
+                if (text.contains(skill)) {
+                    score++;
+                }
+            }
+
+            if (score > 0) {
+                scored.add(new JobDto(
+                        job.getId(),
+                        job.getTitle(),
+                        job.getCompany(),
+                        job.getSalary(),
+                        job.getDescription(),
+                        job.getLocation(),
+                        job.getExternalUrl(),
+                        score
+                ));
+            }
+        }
+
+        scored.sort(Comparator
+                .comparingInt(JobDto::getScore)
+                .reversed()
+                .thenComparing(JobDto::getTitle));
+
+        if (limit > 0 && scored.size() > limit) {
+            return scored.subList(0, limit);
+        }
+        return scored;
+    }
+
+    private static String buildSearchText(Job job) {
+        StringBuilder sb = new StringBuilder();
+        if (job.getTitle() != null) {
+            sb.append(job.getTitle()).append(" ");
+        }
+        if (job.getCompany() != null) {
+            sb.append(job.getCompany()).append(" ");
+        }
+        if (job.getDescription() != null) {
+            sb.append(job.getDescription());
+        }
+        return sb.toString();
+    }
+}
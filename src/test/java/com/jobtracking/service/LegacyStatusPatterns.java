@@ -0,0 +1,40 @@
+package com.jobtracking.service;
+
+import java.util.regex.Pattern;
+
+/**
+ * The status regexes EmailParserService used before StatusKeywordMatcher, kept as the
+ * reference the matcher is checked and benchmarked against.
+ */
+final class LegacyStatusPatterns {
+
+    static final Pattern INTERVIEW = Pattern.compile(
+            "(?i)(interview|schedule a time|availability|coding challenge|technical screen|phone screen)");
+
+    static final Pattern OFFER = Pattern.compile(
+            "(?i)(offer letter|congratulations|pleased to offer|welcome to the team)");
+
+    static final Pattern REJECT = Pattern.compile(
+            "(?i)(we (have )?decided|unfortunately[, ]|not moving forward|pursue other candidates)");
+
+    static final Pattern APPLIED = Pattern.compile(
+            "(?i)(application (received|submitted|confirmation|successfully|complete)|thank you for applying|we (have )?received your application|your application has been|application received|applied (for|to)|confirmation of your application|received your application|has received your application)");
+
+    // Same priority order as StatusKeywordMatcher.STATUSES
+    static final Pattern[] BY_STATUS = {OFFER, REJECT, INTERVIEW, APPLIED};
+
+    private LegacyStatusPatterns() {
+    }
+
+    static String determineStatus(String subject, String body) {
+        String content = (subject + " " + body).toLowerCase();
+
+        // Priority: OFFER > REJECTED > INTERVIEW > APPLIED
+        if (OFFER.matcher(content).find()) return "OFFER";
+        if (REJECT.matcher(content).find()) return "REJECTED";
+        if (INTERVIEW.matcher(content).find()) return "INTERVIEW";
+        if (APPLIED.matcher(content).find()) return "APPLIED";
+
+        return null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.jobtracking.service;
+
+import java.util.Random;
+
+/**
+ * Randomized email text for the matcher tests: fragments (keywords, near misses, separators)
+ * glued together, each upper-cased one time in four.
+ */
+final class RandomText {
+
+    private RandomText() {
+    }
+
+    static String build(Random random, String[] fragments, int maxFragments) {
+        StringBuilder sb = new StringBuilder();
+        int count = random.nextInt(maxFragments + 1);
+        for (int i = 0; i < count; i++) {
+            String fragment = fragments[random.nextInt(fragments.length)];
+            if (random.nextInt(4) == 0) {
+                fragment = fragment.toUpperCase();
+            }
+            sb.append(fragment);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,88 @@
+package com.jobtracking.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recruiting emails from sample-emails.txt, the shared corpus for the email parsing benchmarks.
+ * None of them contains a status keyword or a known company name.
+ */
+final class SampleEmails {
+
+    private static final String RESOURCE = "/sample-emails.txt";
+
+    static final class Email {
+        private final String subject;
+        private final String body;
+
+        Email(String subject, String body) {
+            this.subject = subject;
+            this.body = body;
+        }
+
+        String getSubject() { return subject; }
+        String getBody() { return body; }
+    }
+
+    private static final List<Email> EMAILS = load();
+
+    private SampleEmails() {
+    }
+
+    static List<Email> all() {
+        return EMAILS;
+    }
+
+    /**
+     * Email bodies repeated in corpus order until the text is at least minChars long
+     */
+    static String bodies(int minChars) {
+        StringBuilder sb = new StringBuilder(minChars + 2048);
+        while (sb.length() < minChars) {
+            for (Email email : EMAILS) {
+                sb.append(email.getBody()).append('\n');
+                if (sb.length() >= minChars) {
+                    break;
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private static List<Email> load() {
+        InputStream in = SampleEmails.class.getResourceAsStream(RESOURCE);
+        if (in == null) {
+            throw new IllegalStateException("Sample emails not found on classpath: " + RESOURCE);
+        }
+        List<Email> emails = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String subject = null;
+            StringBuilder body = new StringBuilder();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (subject == null) {
+                    if (line.startsWith("Subject: ")) {
+                        subject = line.substring("Subject: ".length());
+                    }
+                } else if (line.equals("---")) {
+                    emails.add(new Email(subject, body.toString()));
+                    subject = null;
+                    body.setLength(0);
+                } else {
+                    body.append(line).append('\n');
+                }
+            }
+            if (subject != null) {
+                emails.add(new Email(subject, body.toString()));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read sample emails " + RESOURCE, e);
+        }
+        return emails;
+    }
+}
@@ -0,0 +1,69 @@
+package com.jobtracking.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Status classification of one email: StatusKeywordMatcher against the legacy regexes.
+ * Bodies repeat the sample-emails.txt corpus. "none" bodies contain no keyword (every pattern
+ * scans the whole text); "applied" bodies end with an APPLIED keyword, the lowest priority status.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.jobtracking.service.StatusKeywordMatcherBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatusKeywordMatcherBenchmark {
+
+    @Param({"2000", "20000"})
+    public int bodyChars;
+
+    @Param({"none", "applied"})
+    public String keyword;
+
+    private final StatusKeywordMatcher matcher = StatusKeywordMatcher.defaultMatcher();
+    private String subject;
+    private String body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        subject = SampleEmails.all().get(0).getSubject();
+        body = SampleEmails.bodies(bodyChars);
+        if ("applied".equals(keyword)) {
+            body += "We have received your application.";
+        }
+    }
+
+    @Benchmark
+    public String matcher() {
+        return matcher.determineStatus(subject, body);
+    }
+
+    @Benchmark
+    public String legacyRegexes() {
+        return LegacyStatusPatterns.determineStatus(subject, body);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(StatusKeywordMatcherBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,131 @@
+package com.jobtracking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class StatusKeywordMatcherTest {
+
+    private static final StatusKeywordMatcher MATCHER = StatusKeywordMatcher.defaultMatcher();
+
+    // Keyword pieces, near misses and separators used to build randomized emails
+    private static final String[] FRAGMENTS = {
+            "interview", "Interview", "INTERVIEW", "interv", "schedule a time", "schedule a", "availability",
+            "coding challenge", "technical screen", "phone screen", "offer letter", "offer", "Congratulations",
+            "pleased to offer", "welcome to the team", "we decided", "we have decided", "we  decided",
+            "Unfortunately,", "unfortunately ", "unfortunately.", "not moving forward", "pursue other candidates",
+            "application received", "application submitted", "application confirmation",
+            "application successfully", "application complete", "application", "thank you for applying",
+            "we received your application", "we have received your application", "your application has been",
+            "applied for", "applied to", "applied", "confirmation of your application",
+            "has received your application", "the", "team", "a", "we", "have", "your",
+            " ", " ", " ", ",", ".", "\n", "\t", "-", "3", "\u00e9", "\u212a", "\u0130", "\u017f"
+    };
+
+    @Test
+    void prioritizesOfferThenRejectionThenInterviewThenApplied() {
+        assertEquals("OFFER", MATCHER.determineStatus("Interview follow-up", "Congratulations! Unfortunately, ..."));
+        assertEquals("REJECTED", MATCHER.determineStatus("Your interview", "Unfortunately, we have decided"));
+        assertEquals("INTERVIEW", MATCHER.determineStatus("Application received", "Share your availability"));
+        assertEquals("APPLIED", MATCHER.determineStatus("Thank you for applying", "We will be in touch"));
+        assertNull(MATCHER.determineStatus("Newsletter", "Nothing to see here"));
+    }
+
+    @Test
+    void matchesAcrossTheSubjectBodySeparator() {
+        assertEquals("APPLIED", MATCHER.determineStatus("Thank you for", "applying to Acme"));
+        assertEquals(LegacyStatusPatterns.determineStatus("Thank you for", "applying to Acme"),
+                MATCHER.determineStatus("Thank you for", "applying to Acme"));
+    }
+
+    @Test
+    void handlesNullParts() {
+        assertEquals("INTERVIEW", MATCHER.determineStatus(null, "phone screen"));
+        assertEquals("OFFER", MATCHER.determineStatus("Offer letter", null));
+        assertNull(MATCHER.determineStatus(null, null));
+    }
+
+    @Test
+    void foldsNonAsciiCaseLikeStringToLowerCase() {
+        // KELVIN SIGN lower-cases to 'k'; DOTTED CAPITAL I lower-cases to "i" + a combining dot
+        String kelvin = "Than\u212a you for applying";
+        String dottedI = "\u0130nterview";
+        assertEquals(LegacyStatusPatterns.determineStatus(kelvin, ""), MATCHER.determineStatus(kelvin, ""));
+        assertEquals(LegacyStatusPatterns.determineStatus(dottedI, ""), MATCHER.determineStatus(dottedI, ""));
+    }
+
+    @Test
+    void sampleEmailsContainNoKeyword() {
+        // The benchmark relies on this to make every pattern scan the whole body
+        for (SampleEmails.Email email : SampleEmails.all()) {
+            assertNull(MATCHER.determineStatus(email.getSubject(), email.getBody()), email.getSubject());
+            assertNull(LegacyStatusPatterns.determineStatus(email.getSubject(), email.getBody()), email.getSubject());
+        }
+    }
+
+    @Test
+    void determineStatusAgreesWithLegacyRegexes() {
+        Random random = new Random(14);
+        for (int i = 0; i < 20_000; i++) {
+            String subject = RandomText.build(random, FRAGMENTS, 6);
+            String body = RandomText.build(random, FRAGMENTS, 30);
+            assertEquals(LegacyStatusPatterns.determineStatus(subject, body), MATCHER.determineStatus(subject, body),
+                    "subject=[" + subject + "] body=[" + body + "]");
+        }
+    }
+
+    @Test
+    void findAllAgreesWithLegacyRegexes() {
+        Random random = new Random(15);
+        for (int i = 0; i < 5_000; i++) {
+            String subject = RandomText.build(random, FRAGMENTS, 6);
+            String body = RandomText.build(random, FRAGMENTS, 30);
+            String content = (subject + " " + body).toLowerCase();
+            if (content.length() != subject.length() + 1 + body.length()) {
+                // Lower-casing changed the length, so offsets are not comparable
+                continue;
+            }
+
+            List<StatusKeywordMatcher.Hit> hits = MATCHER.findAll(subject, body);
+            for (int s = 0; s < StatusKeywordMatcher.STATUSES.length; s++) {
+                String status = StatusKeywordMatcher.STATUSES[s];
+                Set<Integer> expected = new TreeSet<>();
+                Matcher matcher = LegacyStatusPatterns.BY_STATUS[s].matcher(content);
+                for (int start = 0; start < content.length(); start++) {
+                    matcher.region(start, content.length());
+                    if (matcher.lookingAt()) {
+                        expected.add(start);
+                    }
+                }
+                Set<Integer> actual = new TreeSet<>();
+                for (StatusKeywordMatcher.Hit hit : hits) {
+                    if (hit.getStatus().equals(status)) {
+                        actual.add(hit.getStart());
+                        assertEquals(hit.getKeyword(), content.substring(hit.getStart(), hit.getEnd()));
+                    }
+                }
+                assertEquals(expected, actual, status + " in [" + content + "]");
+            }
+        }
+    }
+
+    @Test
+    void findAllReportsOverlappingHitsInTextOrder() {
+        List<StatusKeywordMatcher.Hit> hits = MATCHER.findAll("Update", "we have received your application");
+
+        List<String> keywords = new ArrayList<>();
+        for (StatusKeywordMatcher.Hit hit : hits) {
+            keywords.add(hit.getKeyword());
+        }
+        assertEquals(List.of("we have received your application", "received your application"), keywords);
+        assertEquals(7, hits.get(0).getStart());
+    }
+}